@@ -1,12 +1,29 @@
 package io.wax100.customizeFishing;
 
 import io.wax100.customizeFishing.commands.CustomizeFishingCommand;
+import io.wax100.customizeFishing.effects.ActionBarCompositor;
+import io.wax100.customizeFishing.effects.EffectBudget;
+import io.wax100.customizeFishing.effects.EffectProfiles;
+import io.wax100.customizeFishing.fishing.BiomeWeather;
+import io.wax100.customizeFishing.fishing.CatchGovernor;
+import io.wax100.customizeFishing.fishing.EnvironmentConditions;
+import io.wax100.customizeFishing.fishing.OpenWaterCache;
+import io.wax100.customizeFishing.fishing.RodProfiles;
 import io.wax100.customizeFishing.jobs.JobsLuckManager;
 import io.wax100.customizeFishing.listeners.BindingCurseListener;
+import io.wax100.customizeFishing.listeners.BlockChangeListener;
 import io.wax100.customizeFishing.listeners.FishingListener;
+import io.wax100.customizeFishing.listeners.LuckCacheListener;
 import io.wax100.customizeFishing.listeners.LuckDisplayListener;
+import io.wax100.customizeFishing.luck.LuckContributors;
+import io.wax100.customizeFishing.luck.PlayerLuckCache;
 import io.wax100.customizeFishing.migration.ItemMigrationListener;
+import io.wax100.customizeFishing.scheduler.TimingWheel;
+import io.wax100.customizeFishing.timing.ReactionMonitor;
+import io.wax100.customizeFishing.timing.TickClock;
+import io.wax100.customizeFishing.timing.TimingHistogram;
 import io.wax100.customizeFishing.unique.UniqueItemManager;
+import io.wax100.customizeFishing.unique.UniqueLootIndex;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -16,23 +33,62 @@ import java.util.Objects;
 public final class CustomizeFishing extends JavaPlugin {
 
     private UniqueItemManager uniqueItemManager;
+    private UniqueLootIndex uniqueLootIndex;
+    private FishingListener fishingListener;
+    private BindingCurseListener bindingCurseListener;
     private LuckDisplayListener luckDisplayListener;
     private JobsLuckManager jobsLuckManager;
+    private PlayerLuckCache playerLuckCache;
+    private RodProfiles rodProfiles;
+    private OpenWaterCache openWaterCache;
+    private EnvironmentConditions environmentConditions;
+    private BiomeWeather biomeWeather;
+    private LuckContributors luckContributors;
+    private TickClock tickClock;
+    private TimingHistogram timingHistogram;
+    private ReactionMonitor reactionMonitor;
+    private CatchGovernor catchGovernor;
+    private EffectBudget effectBudget;
+    private TimingWheel timingWheel;
+    private ActionBarCompositor actionBarCompositor;
+    private EffectProfiles effectProfiles;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
 
         // Initialize managers
+        this.timingWheel = new TimingWheel(getLogger());
+        this.tickClock = new TickClock(timingWheel, getLogger());
         this.uniqueItemManager = new UniqueItemManager(this);
+        this.uniqueLootIndex = new UniqueLootIndex(this);
         this.luckDisplayListener = new LuckDisplayListener(this);
         this.jobsLuckManager = new JobsLuckManager(this);
+        this.playerLuckCache = new PlayerLuckCache(this);
+        this.rodProfiles = new RodProfiles(this);
+        this.openWaterCache = new OpenWaterCache();
+        this.environmentConditions = new EnvironmentConditions(this);
+        this.biomeWeather = new BiomeWeather(this);
+        this.luckContributors = new LuckContributors(this);
+        this.timingHistogram = new TimingHistogram();
+        this.reactionMonitor = new ReactionMonitor(this);
+        this.catchGovernor = new CatchGovernor(this);
+        this.effectBudget = new EffectBudget(this);
+        this.effectProfiles = new EffectProfiles(this);
+        tickClock.start(this);
+        this.actionBarCompositor = new ActionBarCompositor(this);
+        actionBarCompositor.start();
 
         // Register event listeners
-        getServer().getPluginManager().registerEvents(new FishingListener(this), this);
-        getServer().getPluginManager().registerEvents(new BindingCurseListener(this), this);
+        this.fishingListener = new FishingListener(this);
+        this.bindingCurseListener = new BindingCurseListener(this);
+        getServer().getPluginManager().registerEvents(fishingListener, this);
+        getServer().getPluginManager().registerEvents(bindingCurseListener, this);
         getServer().getPluginManager().registerEvents(luckDisplayListener, this);
+        getServer().getPluginManager().registerEvents(new LuckCacheListener(this), this);
+        getServer().getPluginManager().registerEvents(new BlockChangeListener(this), this);
         getServer().getPluginManager().registerEvents(new ItemMigrationListener(this), this);
+        getServer().getPluginManager().registerEvents(luckContributors, this);
 
         // Register commands
         CustomizeFishingCommand commandExecutor = new CustomizeFishingCommand(this);
@@ -46,12 +102,30 @@ public final class CustomizeFishing extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (timingWheel != null) {
+            timingWheel.clear();
+        }
         getLogger().info("CustomizeFishing has been disabled!");
     }
 
     public void reload() {
         reloadConfig();
+        uniqueLootIndex.reload();
+        playerLuckCache.reload();
+        jobsLuckManager.reload();
+        rodProfiles.reload();
+        environmentConditions.reload();
+        biomeWeather.reload();
+        luckContributors.reload();
+        timingHistogram.clear();
+        reactionMonitor.reload();
+        catchGovernor.reload();
+        effectBudget.reload();
+        fishingListener.reload();
+        bindingCurseListener.reload();
+        luckDisplayListener.reload();
         validateCategoryLootTables();
+        effectProfiles.reload();
     }
 
     /**
@@ -85,7 +159,79 @@ public final class CustomizeFishing extends JavaPlugin {
         return uniqueItemManager;
     }
 
+    public UniqueLootIndex getUniqueLootIndex() {
+        return uniqueLootIndex;
+    }
+
     public JobsLuckManager getJobsLuckManager() {
         return jobsLuckManager;
     }
+
+    public PlayerLuckCache getPlayerLuckCache() {
+        return playerLuckCache;
+    }
+
+    public RodProfiles getRodProfiles() {
+        return rodProfiles;
+    }
+
+    public OpenWaterCache getOpenWaterCache() {
+        return openWaterCache;
+    }
+
+    public EnvironmentConditions getEnvironmentConditions() {
+        return environmentConditions;
+    }
+
+    public BiomeWeather getBiomeWeather() {
+        return biomeWeather;
+    }
+
+    /**
+     * 他プラグインが幸運値の提供元（{@link io.wax100.customizeFishing.luck.LuckContributor}）を登録する窓口
+     */
+    public LuckContributors getLuckContributors() {
+        return luckContributors;
+    }
+
+    public TickClock getTickClock() {
+        return tickClock;
+    }
+
+    public TimingHistogram getTimingHistogram() {
+        return timingHistogram;
+    }
+
+    public ReactionMonitor getReactionMonitor() {
+        return reactionMonitor;
+    }
+
+    public CatchGovernor getCatchGovernor() {
+        return catchGovernor;
+    }
+
+    public EffectBudget getEffectBudget() {
+        return effectBudget;
+    }
+
+    /**
+     * プラグイン内の遅延処理の登録先
+     */
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    /**
+     * カテゴリごとの演出（設定の読み込み時に組み立て済み）
+     */
+    public EffectProfiles getEffectProfiles() {
+        return effectProfiles;
+    }
+
+    /**
+     * アクションバーへの表示の送信先
+     */
+    public ActionBarCompositor getActionBarCompositor() {
+        return actionBarCompositor;
+    }
 }
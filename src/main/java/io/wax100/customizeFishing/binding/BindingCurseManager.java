@@ -1,103 +1,106 @@
 package io.wax100.customizeFishing.binding;
 
 import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.item.ItemFinalization;
+import io.wax100.customizeFishing.item.ItemInspection;
 import org.bukkit.NamespacedKey;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 public class BindingCurseManager {
 
+    private static final int OWNER_CACHE_SIZE = 256;
+
     private final NamespacedKey ownerKey;
     private final NamespacedKey ownerNameKey;
+    // 所有者UUID文字列 → 解析済みUUID（アクセス順のLRU）
+    private final Map<String, UUID> ownerUuidCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+            return size() > OWNER_CACHE_SIZE;
+        }
+    };
 
     public BindingCurseManager(CustomizeFishing plugin) {
         this.ownerKey = new NamespacedKey(plugin, "binding_owner");
         this.ownerNameKey = new NamespacedKey(plugin, "binding_owner_name");
     }
 
-    public void setItemOwner(ItemStack item, Player owner) {
-        if (item == null || !hasBindingCurse(item)) {
-            return;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return;
-        }
+    /**
+     * 束縛の呪い付きの釣果かどうか（メタデータを複製せずに判定）
+     */
+    public boolean appliesTo(ItemFinalization finalization) {
+        return hasBindingCurse(finalization.item());
+    }
 
-        PersistentDataContainer container = meta.getPersistentDataContainer();
+    public void setItemOwner(ItemFinalization finalization) {
+        Player owner = finalization.player();
+        PersistentDataContainer container = finalization.meta().getPersistentDataContainer();
         container.set(ownerKey, PersistentDataType.STRING, owner.getUniqueId().toString());
         container.set(ownerNameKey, PersistentDataType.STRING, owner.getName());
 
-        List<String> lore = meta.getLore();
-        if (lore == null) {
-            lore = new ArrayList<>();
-        }
-
         // 束縛の呪いの説明を複数行で追加
-        lore.add(0, "");
-        lore.add(0, "§c§l束縛: §f" + owner.getName() + " §7のみ所持・使用可能");
-        meta.setLore(lore);
-
-        item.setItemMeta(meta);
+        finalization.prependLore("§c§l束縛: §f" + owner.getName() + " §7のみ所持・使用可能", "");
     }
 
     public boolean isOwner(ItemStack item, Player player) {
-        UUID ownerUUID = getOwnerUUID(item);
-        if (ownerUUID == null) {
-            return true; // 所有者が設定されていない、または束縛の呪いが無い場合は誰でも使用可能
-        }
-
-        return player.getUniqueId().equals(ownerUUID);
+        return getForeignOwner(item, player) == null; // 所有者が設定されていない、または束縛の呪いが無い場合は誰でも使用可能
     }
 
-    public UUID getOwnerUUID(ItemStack item) {
-        if (item == null || !hasBindingCurse(item)) {
-            return null;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
+    /**
+     * アイテムが他のプレイヤーに束縛されている場合、その所有者を返す
+     *
+     * @param item   アイテム
+     * @param player 所持・使用しようとしているプレイヤー
+     * @return 他人に束縛されている場合は所有者、それ以外はnull
+     */
+    public Owner getForeignOwner(ItemStack item, Player player) {
+        Owner owner = readOwner(item);
+        if (owner == null || owner.uuid().equals(player.getUniqueId())) {
             return null;
         }
+        return owner;
+    }
 
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        if (!container.has(ownerKey, PersistentDataType.STRING)) {
+    /**
+     * 束縛の所有者を1回のメタデータ読み取りで取得する。
+     * 束縛の呪いが無いアイテム（大多数）はメタデータを複製せずに除外する。
+     *
+     * @param item アイテム
+     * @return 所有者、束縛の呪いが無い・所有者が未設定・UUIDが不正な場合はnull
+     */
+    public Owner readOwner(ItemStack item) {
+        if (!hasBindingCurse(item)) {
             return null;
         }
 
-        String ownerUuid = container.get(ownerKey, PersistentDataType.STRING);
+        ItemInspection inspection = ItemInspection.of(item);
+        String ownerUuid = inspection.getString(ownerKey);
         if (ownerUuid == null) {
             return null;
         }
-
-        try {
-            return UUID.fromString(ownerUuid);
-        } catch (IllegalArgumentException e) {
+        UUID uuid = parseOwnerUuid(ownerUuid);
+        if (uuid == null) {
             return null;
         }
+        return new Owner(uuid, inspection.getString(ownerNameKey));
     }
 
-    public String getOwnerName(ItemStack item) {
-        if (item == null || !hasBindingCurse(item)) {
-            return null;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
+    public UUID getOwnerUUID(ItemStack item) {
+        Owner owner = readOwner(item);
+        return owner != null ? owner.uuid() : null;
+    }
 
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.get(ownerNameKey, PersistentDataType.STRING);
+    public String getOwnerName(ItemStack item) {
+        Owner owner = readOwner(item);
+        return owner != null ? owner.name() : null;
     }
 
     public boolean hasBindingCurse(ItemStack item) {
@@ -109,16 +112,32 @@ public class BindingCurseManager {
     }
 
     public boolean hasOwner(ItemStack item) {
-        if (item == null || !hasBindingCurse(item)) {
-            return false;
-        }
+        return readOwner(item) != null;
+    }
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
+    /**
+     * 所有者UUID文字列を解析する（同じ所有者の文字列は繰り返し解析しない）
+     */
+    private UUID parseOwnerUuid(String ownerUuid) {
+        UUID cached = ownerUuidCache.get(ownerUuid);
+        if (cached != null) {
+            return cached;
         }
+        try {
+            UUID uuid = UUID.fromString(ownerUuid);
+            ownerUuidCache.put(ownerUuid, uuid);
+            return uuid;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.has(ownerKey, PersistentDataType.STRING);
+    /**
+     * 束縛アイテムの所有者
+     *
+     * @param uuid 所有者のUUID
+     * @param name 所有者の名前（束縛時点）
+     */
+    public record Owner(UUID uuid, String name) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package io.wax100.customizeFishing.binding;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.timing.TickClock;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 他人の束縛アイテムをプレイヤーのインベントリから取り除くクラス。
+ * <p>
+ * インベントリ操作で束縛アイテムが動いたスロットだけを記録しておき、
+ * インベントリを閉じた次のtickに {@link TickClock} の共有タスクでそのスロットだけを再確認する。
+ * 記録から漏れた経路に備えて、一定間隔で全プレイヤーのインベントリも監査する。
+ */
+public class BoundItemAuditor implements Runnable {
+
+    // PlayerInventory#getItem(int) のスロット数（収納36 + 防具4 + オフハンド1）
+    private static final int PLAYER_INVENTORY_SLOTS = 41;
+
+    private final CustomizeFishing plugin;
+    private final BindingCurseManager bindingCurseManager;
+    // インベントリを開いている間に束縛アイテムが動いたスロット
+    private final Map<UUID, BitSet> dirtySlots = new HashMap<>();
+    // 次のtickで再確認するプレイヤー
+    private final Set<UUID> pendingChecks = new LinkedHashSet<>();
+    private long tick;
+    // 全インベントリ監査の間隔（tick）
+    private int auditInterval;
+
+    public BoundItemAuditor(CustomizeFishing plugin, BindingCurseManager bindingCurseManager) {
+        this.plugin = plugin;
+        this.bindingCurseManager = bindingCurseManager;
+        reload();
+    }
+
+    /**
+     * 全インベントリ監査の間隔を読み直す
+     */
+    public void reload() {
+        auditInterval = plugin.getConfig().getInt("binding_curse.full_audit_interval_ticks", 1200);
+    }
+
+    /**
+     * 毎tickの処理として共有タスクに登録する
+     */
+    public void start() {
+        plugin.getTickClock().addTickTask(this);
+    }
+
+    /**
+     * 束縛アイテムが動いたスロットを記録する
+     *
+     * @param player プレイヤー
+     * @param slot   PlayerInventory上のスロット番号
+     */
+    public void markSlot(Player player, int slot) {
+        if (slot >= 0 && slot < PLAYER_INVENTORY_SLOTS) {
+            dirtySlots.computeIfAbsent(player.getUniqueId(), k -> new BitSet(PLAYER_INVENTORY_SLOTS)).set(slot);
+        }
+    }
+
+    /**
+     * 移動先のスロットが分からない操作（シフトクリック、コンテナからの移動、拾得など）で全スロットを記録する
+     *
+     * @param player プレイヤー
+     */
+    public void markAll(Player player) {
+        dirtySlots.computeIfAbsent(player.getUniqueId(), k -> new BitSet(PLAYER_INVENTORY_SLOTS)).set(0, PLAYER_INVENTORY_SLOTS);
+    }
+
+    /**
+     * 記録済みのスロットを次のtickで再確認する
+     *
+     * @param player プレイヤー
+     */
+    public void requestCheck(Player player) {
+        if (dirtySlots.containsKey(player.getUniqueId())) {
+            pendingChecks.add(player.getUniqueId());
+        }
+    }
+
+    /**
+     * ログアウトしたプレイヤーの記録を破棄する
+     *
+     * @param player プレイヤー
+     */
+    public void forget(Player player) {
+        dirtySlots.remove(player.getUniqueId());
+        pendingChecks.remove(player.getUniqueId());
+    }
+
+    @Override
+    public void run() {
+        tick++;
+
+        if (!pendingChecks.isEmpty()) {
+            for (UUID playerId : pendingChecks) {
+                BitSet slots = dirtySlots.remove(playerId);
+                Player player = plugin.getServer().getPlayer(playerId);
+                if (player != null && slots != null) {
+                    dropBoundItemsNotOwnedBy(player, slots);
+                }
+            }
+            pendingChecks.clear();
+        }
+
+        if (auditInterval > 0 && tick % auditInterval == 0) {
+            BitSet allSlots = new BitSet(PLAYER_INVENTORY_SLOTS);
+            allSlots.set(0, PLAYER_INVENTORY_SLOTS);
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                dropBoundItemsNotOwnedBy(player, allSlots);
+            }
+        }
+    }
+
+    /**
+     * 指定スロットにある他人の束縛アイテムを足元にドロップする
+     *
+     * @param player プレイヤー
+     * @param slots  確認するスロット
+     */
+    private void dropBoundItemsNotOwnedBy(Player player, BitSet slots) {
+        PlayerInventory inventory = player.getInventory();
+        Location playerLocation = player.getLocation();
+        int size = Math.min(inventory.getSize(), PLAYER_INVENTORY_SLOTS);
+
+        for (int i = slots.nextSetBit(0); i >= 0 && i < size; i = slots.nextSetBit(i + 1)) {
+            ItemStack item = inventory.getItem(i);
+            BindingCurseManager.Owner owner = bindingCurseManager.getForeignOwner(item, player);
+            if (owner != null) {
+
+                // アイテムをドロップ
+                Objects.requireNonNull(playerLocation.getWorld()).dropItem(playerLocation, item);
+                inventory.setItem(i, null);
+
+                player.sendMessage(ChatColor.YELLOW + owner.name() + ChatColor.RED + " の束縛アイテムが自動的にドロップされました。");
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.wax100.customizeFishing.binding;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * ホッパー・ドロッパー等によるコンテナ間の移動から束縛アイテムを締め出すクラス。
+ * <p>
+ * InventoryMoveItemEvent はホッパー施設のあるサーバーで最も頻繁に発火するイベントの一つのため、
+ * 束縛の呪いが無いアイテムはエンチャントの有無だけで除外し、メタデータを複製しない。
+ */
+public class ContainerTransferGuard {
+
+    private final CustomizeFishing plugin;
+    private final BindingCurseManager bindingCurseManager;
+    private boolean enabled;
+
+    public ContainerTransferGuard(CustomizeFishing plugin, BindingCurseManager bindingCurseManager) {
+        this.plugin = plugin;
+        this.bindingCurseManager = bindingCurseManager;
+        reload();
+    }
+
+    /**
+     * binding_curse.block_container_transfers を読み直す
+     */
+    public void reload() {
+        enabled = plugin.getConfig().getBoolean("binding_curse.block_container_transfers", true);
+    }
+
+    /**
+     * コンテナ間の移動を止めるべきアイテムかどうか
+     *
+     * @param item 移動するアイテム
+     * @return 所有者が設定された束縛アイテムの場合true
+     */
+    public boolean shouldBlock(ItemStack item) {
+        if (!bindingCurseManager.hasBindingCurse(item) || !enabled) {
+            return false;
+        }
+        return bindingCurseManager.hasOwner(item);
+    }
+}
@@ -2,6 +2,15 @@ package io.wax100.customizeFishing.commands;
 
 import io.wax100.customizeFishing.CustomizeFishing;
 import io.wax100.customizeFishing.debug.DebugFishingRod;
+import io.wax100.customizeFishing.effects.ActionBarCompositor;
+import io.wax100.customizeFishing.effects.EffectBudget;
+import io.wax100.customizeFishing.fishing.CatchGovernor;
+import io.wax100.customizeFishing.fishing.EnvironmentConditions;
+import io.wax100.customizeFishing.fishing.OpenWaterCache;
+import io.wax100.customizeFishing.jobs.JobsLuckManager;
+import io.wax100.customizeFishing.luck.LuckContributors;
+import io.wax100.customizeFishing.luck.PlayerLuckCache;
+import io.wax100.customizeFishing.timing.ReactionMonitor;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -14,6 +23,7 @@ import org.bukkit.inventory.ItemStack;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 public class CustomizeFishingCommand implements CommandExecutor, TabCompleter {
 
@@ -83,6 +93,16 @@ public class CustomizeFishingCommand implements CommandExecutor, TabCompleter {
                 sender.sendMessage(ChatColor.GREEN + "Debug fishing rod for category '" + category + "' has been added to your inventory!");
                 break;
 
+            case "stats":
+                if (!sender.hasPermission("customizefishing.stats")) {
+                    sender.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                            plugin.getConfig().getString("messages.no_permission", "&cYou don't have permission!")));
+                    return true;
+                }
+
+                sendStats(sender);
+                break;
+
             default:
                 sender.sendMessage(ChatColor.RED + "Unknown subcommand. Use /customizefishing help");
                 break;
@@ -95,10 +115,72 @@ public class CustomizeFishingCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.AQUA + "========= CustomizeFishing Help =========");
         sender.sendMessage(ChatColor.YELLOW + "/customizefishing reload" + ChatColor.WHITE + " - Reload configuration");
         sender.sendMessage(ChatColor.YELLOW + "/customizefishing debugrod <category>" + ChatColor.WHITE + " - Get debug fishing rod");
+        sender.sendMessage(ChatColor.YELLOW + "/customizefishing stats" + ChatColor.WHITE + " - Show cache statistics");
         sender.sendMessage(ChatColor.YELLOW + "/customizefishing help" + ChatColor.WHITE + " - Show this help message");
         sender.sendMessage(ChatColor.GRAY + "Available categories: " + getAvailableCategories());
     }
 
+    private void sendStats(CommandSender sender) {
+        PlayerLuckCache luckCache = plugin.getPlayerLuckCache();
+        sender.sendMessage(ChatColor.AQUA + "========= CustomizeFishing Stats =========");
+        sender.sendMessage(ChatColor.YELLOW + "Luck cache: " + ChatColor.WHITE
+                + luckCache.getHits() + " hits / " + luckCache.getMisses() + " misses"
+                + String.format(" (%.1f%%)", luckCache.getHitRate() * 100)
+                + ", " + luckCache.getInvalidations() + " invalidations");
+
+        OpenWaterCache openWaterCache = plugin.getOpenWaterCache();
+        sender.sendMessage(ChatColor.YELLOW + "Open water cache: " + ChatColor.WHITE
+                + openWaterCache.getHits() + " hits / " + openWaterCache.getMisses() + " misses"
+                + String.format(" (%.1f%%)", openWaterCache.getHitRate() * 100)
+                + ", " + openWaterCache.size() + " positions");
+
+        EnvironmentConditions environmentConditions = plugin.getEnvironmentConditions();
+        sender.sendMessage(ChatColor.YELLOW + "Environment scan cache: " + ChatColor.WHITE
+                + environmentConditions.getHits() + " hits / " + environmentConditions.getMisses() + " misses"
+                + String.format(" (%.1f%%)", environmentConditions.getHitRate() * 100)
+                + ", " + environmentConditions.size() + " positions");
+
+        JobsLuckManager jobsLuckManager = plugin.getJobsLuckManager();
+        sender.sendMessage(ChatColor.YELLOW + "Jobs lookups: " + ChatColor.WHITE
+                + jobsLuckManager.getLookups() + " calls"
+                + String.format(", avg %.1fµs / max %.1fµs", jobsLuckManager.getAverageLookupMicros(), jobsLuckManager.getMaxLookupMicros()));
+
+        plugin.getTimingHistogram().summarize().forEach((tierName, summary) ->
+                sender.sendMessage(ChatColor.YELLOW + "Timing " + tierName + ": " + ChatColor.WHITE
+                        + summary.count() + " catches"
+                        + ", p50 ≤" + summary.p50Ms() + "ms / p90 ≤" + summary.p90Ms() + "ms"));
+
+        ReactionMonitor reactionMonitor = plugin.getReactionMonitor();
+        sender.sendMessage(ChatColor.YELLOW + "Reaction monitor: " + ChatColor.WHITE
+                + reactionMonitor.getTrackedCount() + " players tracked, " + reactionMonitor.getFlaggedCount() + " flagged");
+
+        EffectBudget effectBudget = plugin.getEffectBudget();
+        StringBuilder degradations = new StringBuilder();
+        for (EffectBudget.Stage stage : EffectBudget.Stage.values()) {
+            degradations.append(String.format(" %s %d/%d", stage.name().toLowerCase(Locale.ROOT), effectBudget.getDeferred(stage), effectBudget.getSkipped(stage)));
+        }
+        sender.sendMessage(ChatColor.YELLOW + "Effect budget: " + ChatColor.WHITE
+                + String.format("tick %.1fms,", plugin.getTickClock().getAverageTickMillis())
+                + " deferred/skipped" + degradations);
+        ActionBarCompositor actionBarCompositor = plugin.getActionBarCompositor();
+        sender.sendMessage(ChatColor.YELLOW + "Action bar: " + ChatColor.WHITE
+                + actionBarCompositor.getRequests() + " requests, " + actionBarCompositor.getPackets() + " packets sent");
+        sender.sendMessage(ChatColor.YELLOW + "Delayed tasks: " + ChatColor.WHITE + plugin.getTimingWheel().getPending() + " pending");
+
+        for (CatchGovernor.PlayerMetrics metrics : plugin.getCatchGovernor().getTopPlayers(5)) {
+            sender.sendMessage(ChatColor.YELLOW + "Catch governor " + metrics.getPlayerName() + ": " + ChatColor.WHITE
+                    + metrics.getAdmitted() + " catches, "
+                    + metrics.getLengthened() + " lengthened / " + metrics.getDegraded() + " degraded / " + metrics.getRejected() + " rejected");
+        }
+
+        for (LuckContributors.ContributorStats stats : plugin.getLuckContributors().getStats()) {
+            sender.sendMessage(ChatColor.YELLOW + "Luck contributor " + stats.id() + ": " + ChatColor.WHITE
+                    + stats.calls() + " calls"
+                    + String.format(", avg %.1fµs / max %.1fµs", stats.averageMicros(), stats.maxMicros())
+                    + (stats.disabled() ? ChatColor.RED + " (disabled)" : ""));
+        }
+    }
+
     private boolean isValidCategory(String category) {
         ConfigurationSection categoriesSection = plugin.getConfig().getConfigurationSection("categories");
         if (categoriesSection == null) return false;
@@ -117,7 +199,7 @@ public class CustomizeFishingCommand implements CommandExecutor, TabCompleter {
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
             List<String> completions = new ArrayList<>();
-            List<String> commands = Arrays.asList("reload", "debugrod", "help");
+            List<String> commands = Arrays.asList("reload", "debugrod", "stats", "help");
 
             for (String cmd : commands) {
                 if (cmd.toLowerCase().startsWith(args[0].toLowerCase())) {
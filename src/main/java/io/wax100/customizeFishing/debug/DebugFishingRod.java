@@ -1,5 +1,6 @@
 package io.wax100.customizeFishing.debug;
 
+import io.wax100.customizeFishing.item.ItemInspection;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.enchantments.Enchantment;
@@ -10,12 +11,14 @@ import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 public class DebugFishingRod {
 
     private static final String DEBUG_ROD_KEY = "debug_fishing_rod";
     private static final String FORCE_CATEGORY_KEY = "force_category";
+    // NamespacedKey は判定のたびに作らず使い回す
+    private static NamespacedKey debugKey;
+    private static NamespacedKey categoryKey;
 
     public static ItemStack createDebugRod(Plugin plugin, String category) {
         ItemStack rod = new ItemStack(Material.FISHING_ROD);
@@ -37,10 +40,8 @@ public class DebugFishingRod {
             meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
 
             // NBTデータでマーキング
-            NamespacedKey debugKey = new NamespacedKey(plugin, DEBUG_ROD_KEY);
-            NamespacedKey categoryKey = new NamespacedKey(plugin, FORCE_CATEGORY_KEY);
-            meta.getPersistentDataContainer().set(debugKey, PersistentDataType.BOOLEAN, true);
-            meta.getPersistentDataContainer().set(categoryKey, PersistentDataType.STRING, category);
+            meta.getPersistentDataContainer().set(getDebugKey(plugin), PersistentDataType.BOOLEAN, true);
+            meta.getPersistentDataContainer().set(getCategoryKey(plugin), PersistentDataType.STRING, category);
 
             rod.setItemMeta(meta);
         }
@@ -49,20 +50,42 @@ public class DebugFishingRod {
     }
 
     public static boolean isDebugRod(Plugin plugin, ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
-        }
+        return isDebugRod(plugin, ItemInspection.of(item));
+    }
 
-        NamespacedKey debugKey = new NamespacedKey(plugin, DEBUG_ROD_KEY);
-        return Objects.requireNonNull(item.getItemMeta()).getPersistentDataContainer().has(debugKey, PersistentDataType.BOOLEAN);
+    /**
+     * 読み取り済みのメタデータからデバッグ釣り竿かどうかを判定
+     */
+    public static boolean isDebugRod(Plugin plugin, ItemInspection inspection) {
+        // BOOLEAN はBYTEとして格納される
+        return inspection.hasByte(getDebugKey(plugin));
     }
 
     public static String getForcedCategory(Plugin plugin, ItemStack item) {
-        if (!isDebugRod(plugin, item)) {
+        return getForcedCategory(plugin, ItemInspection.of(item));
+    }
+
+    /**
+     * 読み取り済みのメタデータから強制カテゴリを取得
+     */
+    public static String getForcedCategory(Plugin plugin, ItemInspection inspection) {
+        if (!isDebugRod(plugin, inspection)) {
             return null;
         }
+        return inspection.getString(getCategoryKey(plugin));
+    }
 
-        NamespacedKey categoryKey = new NamespacedKey(plugin, FORCE_CATEGORY_KEY);
-        return Objects.requireNonNull(item.getItemMeta()).getPersistentDataContainer().get(categoryKey, PersistentDataType.STRING);
+    private static NamespacedKey getDebugKey(Plugin plugin) {
+        if (debugKey == null) {
+            debugKey = new NamespacedKey(plugin, DEBUG_ROD_KEY);
+        }
+        return debugKey;
+    }
+
+    private static NamespacedKey getCategoryKey(Plugin plugin) {
+        if (categoryKey == null) {
+            categoryKey = new NamespacedKey(plugin, FORCE_CATEGORY_KEY);
+        }
+        return categoryKey;
     }
 }
\ No newline at end of file
@@ -260,6 +260,11 @@ public class DebugLogger {
                 "   Weather: %.1f | Timing: %.1f | TOTAL: %.1f",
                 luckResult.weatherLuck(), luckResult.timingLuck(), luckResult.getTotalLuck(plugin)
         ));
+        if (!luckResult.contributions().isEmpty()) {
+            StringBuilder contributions = new StringBuilder("   Contributors:");
+            luckResult.contributions().forEach((id, luck) -> contributions.append(String.format(" %s=%+.2f", id, luck)));
+            logInfo(player, contributions.toString());
+        }
     }
 
     /**
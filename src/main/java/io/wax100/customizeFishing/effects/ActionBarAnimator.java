@@ -0,0 +1,183 @@
+package io.wax100.customizeFishing.effects;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.scheduler.TimingWheel;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 確率情報を中央から広がるアニメーションでアクションバーに表示するクラス。
+ * <p>
+ * アニメーションの全フレームは釣果の時点で1回だけ生成し、色コード変換済みの文字列として
+ * テキストごとにキャッシュする（同じ確率表示は何度も繰り返されるため）。
+ * 再生はプレイヤーごとに1つのカーソルがフレームを順に {@link ActionBarCompositor} へ渡すだけで、
+ * 各フレームで文字列を組み立て直さない。
+ * 同じプレイヤーで新しいアニメーションが始まった場合は、再生中のものを打ち切って置き換える。
+ */
+public class ActionBarAnimator {
+
+    /**
+     * 各フレームの間隔（tick）
+     */
+    public static final long STEP_TICKS = 2L;
+    // アニメーションの最大ステップ数
+    private static final int MAX_STEPS = 15;
+    // フレームをキャッシュするテキストの数
+    private static final int MAX_CACHED_TEXTS = 128;
+
+    private final CustomizeFishing plugin;
+    private final Map<String, String[]> frameCache = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+            return size() > MAX_CACHED_TEXTS;
+        }
+    };
+    private final Map<UUID, Cursor> cursors = new HashMap<>();
+
+    public ActionBarAnimator(CustomizeFishing plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * アニメーションを再生する
+     *
+     * @param player       プレイヤー
+     * @param fullText     表示するテキスト（&amp;の色コード可）
+     * @param initialDelay 開始までのtick数
+     * @param animate      false の場合は最終フレームのみ表示する
+     * @return アニメーション完了までの総tick数
+     */
+    public long play(Player player, String fullText, long initialDelay, boolean animate) {
+        String[] frames = getFrames(fullText);
+        if (!animate) {
+            frames = new String[]{frames[frames.length - 1]};
+        }
+
+        Cursor cursor = new Cursor(player, frames);
+        cursor.task = plugin.getTimingWheel().schedule(initialDelay, cursor::begin);
+        return initialDelay + (frames.length - 1) * STEP_TICKS;
+    }
+
+    private String[] getFrames(String fullText) {
+        String[] frames = frameCache.get(fullText);
+        if (frames == null) {
+            frames = renderFrames(fullText);
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = ChatColor.translateAlternateColorCodes('&', frames[i]);
+            }
+            frameCache.put(fullText, frames);
+        }
+        return frames;
+    }
+
+    /**
+     * アニメーションの全フレームのテキストを生成する（色コードは変換前の&amp;のまま）
+     *
+     * @param fullText 表示するテキスト
+     * @return 各ステップで表示するテキスト（最後が fullText）
+     */
+    static String[] renderFrames(String fullText) {
+        String cleanText = ChatColor.stripColor(ChatColor.translateAlternateColorCodes('&', fullText));
+        int textLength = cleanText.length();
+        int center = textLength / 2;
+        int steps = Math.min(MAX_STEPS, center);
+        int[] originalIndex = originalIndexes(fullText, textLength);
+
+        String[] frames = new String[steps + 1];
+        for (int step = 0; step < steps; step++) {
+            // 中央からの距離を計算
+            float progress = (float) step / steps;
+            int revealRadius = (int) (center * progress);
+            int startIndex = Math.max(0, center - revealRadius);
+            int endIndex = Math.min(textLength, center + revealRadius);
+
+            StringBuilder result = new StringBuilder();
+            result.append(" ".repeat(startIndex));
+            if (endIndex > startIndex) {
+                String visiblePart = fullText.substring(originalIndex[startIndex], originalIndex[endIndex]);
+                // エッジ部分にフェード効果を追加
+                if (step < steps - 1) {
+                    result.append("&7").append(visiblePart).append("&f");
+                } else {
+                    result.append(visiblePart);
+                }
+            }
+            result.append(" ".repeat(Math.max(0, textLength - endIndex)));
+            frames[step] = result.toString();
+        }
+        // 最後のステップでは完全なテキストを表示
+        frames[steps] = fullText;
+        return frames;
+    }
+
+    /**
+     * 色コードを除いた文字位置 → 色コードを含む文字列での位置 の対応表を1回の走査で作る
+     */
+    private static int[] originalIndexes(String coloredText, int cleanLength) {
+        int[] index = new int[cleanLength + 1];
+        Arrays.fill(index, coloredText.length());
+
+        int currentCleanPos = 0;
+        int recorded = -1;
+        for (int i = 0; i < coloredText.length() && currentCleanPos < cleanLength; i++) {
+            if (currentCleanPos > recorded) {
+                index[currentCleanPos] = i;
+                recorded = currentCleanPos;
+            }
+
+            // 色コードをスキップ
+            if (i < coloredText.length() - 1 && coloredText.charAt(i) == '&') {
+                i++; // 色コードの次の文字もスキップ
+            } else {
+                currentCleanPos++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * プレイヤーごとの再生位置
+     */
+    private final class Cursor {
+
+        private final Player player;
+        private final String[] frames;
+        private int next;
+        private TimingWheel.Task task;
+
+        private Cursor(Player player, String[] frames) {
+            this.player = player;
+            this.frames = frames;
+        }
+
+        private void begin() {
+            Cursor previous = cursors.put(player.getUniqueId(), this);
+            if (previous != null && previous.task != null) {
+                previous.task.cancel();
+            }
+            advance();
+        }
+
+        private void advance() {
+            if (!player.isOnline()) {
+                cursors.remove(player.getUniqueId(), this);
+                return;
+            }
+
+            // 最終フレームが消えるまでは幸運値表示に上書きさせない
+            plugin.getActionBarCompositor().show(player, ActionBarCompositor.Priority.CATCH, frames[next++], ActionBarCompositor.HOLD_TICKS);
+            if (next < frames.length) {
+                task = plugin.getTimingWheel().schedule(STEP_TICKS, this::advance);
+            } else {
+                task = null;
+                cursors.remove(player.getUniqueId(), this);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.wax100.customizeFishing.effects;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import io.wax100.customizeFishing.timing.TickClock;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * プレイヤーのアクションバーへの表示をまとめて送信するクラス。
+ * <p>
+ * 幸運値の表示・釣果メッセージ・確率のアニメーションはそれぞれ別々にアクションバーへ書き込むため、
+ * 同じtickや隣のtickで送信が重なり、互いに上書きしていた。各機能は {@link #show} で表示の要求だけを登録し、
+ * {@link TickClock} の共有タスクから毎tick、プレイヤーごとに有効期限内で優先度の最も高い表示を1回だけ送信する。
+ * 直前に送信した内容と同じ場合は、アクションバーが消える前に送り直すとき以外は送信しない。
+ */
+public class ActionBarCompositor implements Runnable {
+
+    /**
+     * 表示を保持する標準のtick数（アクションバーが消えるまでの約3秒）
+     */
+    public static final long HOLD_TICKS = 60L;
+    // アクションバーは約3秒で消えるため、内容が同じでもこの間隔で送り直す
+    private static final long REFRESH_TICKS = 40L;
+
+    private final CustomizeFishing plugin;
+    private final Map<UUID, Bar> bars = new HashMap<>();
+    private long tick;
+    private long requests;
+    private long packets;
+
+    public ActionBarCompositor(CustomizeFishing plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 毎tickの処理として共有タスクに登録する
+     */
+    public void start() {
+        plugin.getTickClock().addTickTask(this);
+    }
+
+    /**
+     * アクションバーへの表示を要求する（次のtickでまとめて送信する）
+     *
+     * @param player        プレイヤー
+     * @param priority      優先度（同じ優先度の表示は上書きする）
+     * @param text          表示するテキスト（色コード変換済み）
+     * @param durationTicks 表示を保持するtick数
+     */
+    public void show(Player player, Priority priority, String text, long durationTicks) {
+        Bar bar = bars.computeIfAbsent(player.getUniqueId(), k -> new Bar());
+        bar.player = player;
+        bar.texts[priority.ordinal()] = text;
+        bar.expiresAt[priority.ordinal()] = tick + Math.max(1L, durationTicks);
+        requests++;
+    }
+
+    /**
+     * 指定した優先度の表示を取り下げる
+     *
+     * @param player   プレイヤー
+     * @param priority 優先度
+     */
+    public void hide(Player player, Priority priority) {
+        Bar bar = bars.get(player.getUniqueId());
+        if (bar != null) {
+            bar.texts[priority.ordinal()] = null;
+        }
+    }
+
+    /**
+     * ログアウトしたプレイヤーの表示状態を破棄する
+     *
+     * @param player プレイヤー
+     */
+    public void forget(Player player) {
+        bars.remove(player.getUniqueId());
+    }
+
+    /**
+     * 表示の要求回数
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * 実際に送信した回数
+     */
+    public long getPackets() {
+        return packets;
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        Iterator<Bar> iterator = bars.values().iterator();
+        while (iterator.hasNext()) {
+            Bar bar = iterator.next();
+            String text = bar.top(tick);
+            if (text == null || !bar.player.isOnline()) {
+                // 表示するものが無くなったら、送信済みの表示はそのまま消えるのを待つ
+                iterator.remove();
+                continue;
+            }
+
+            if (text.equals(bar.sentText) && tick - bar.sentTick < REFRESH_TICKS) {
+                continue;
+            }
+            bar.player.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(text));
+            bar.sentText = text;
+            bar.sentTick = tick;
+            packets++;
+        }
+    }
+
+    /**
+     * 表示の優先度（後ろほど優先）
+     */
+    public enum Priority {
+        /**
+         * 釣り竿を持っている間の幸運値表示
+         */
+        LUCK_HUD,
+        /**
+         * 釣果メッセージと確率のアニメーション
+         */
+        CATCH
+    }
+
+    /**
+     * プレイヤーごとの表示状態
+     */
+    private static final class Bar {
+
+        private final String[] texts = new String[Priority.values().length];
+        private final long[] expiresAt = new long[Priority.values().length];
+        private Player player;
+        private String sentText;
+        private long sentTick;
+
+        /**
+         * 有効期限内で優先度の最も高い表示
+         */
+        private String top(long tick) {
+            for (int i = texts.length - 1; i >= 0; i--) {
+                if (texts[i] != null && expiresAt[i] > tick) {
+                    return texts[i];
+                }
+                texts[i] = null;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.wax100.customizeFishing.effects;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.timing.TickClock;
+import org.bukkit.configuration.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * サーバーの負荷に応じて、釣果の演出のうち省略できる処理を延期・省略するクラス（tick_budget）。
+ * <p>
+ * 負荷は2つの指標で判定する。
+ * <ul>
+ *   <li>このプラグインが現在の tick で釣果処理に使った時間が plugin_budget_ms を超えた場合:
+ *       延期できる演出は次の tick に回し、アニメーションは最終表示のみにする</li>
+ *   <li>サーバーの tick 間隔の移動平均（{@link TickClock}）が各しきい値を超えた場合:
+ *       アニメーション → 花火・タイミング表示 → パーティクル の順に省略する</li>
+ * </ul>
+ * アイテムの付与とユニークアイテムの記録は対象外（常にその場で実行する）。延期・省略した回数は段階ごとに数える。
+ */
+public class EffectBudget {
+
+    private final CustomizeFishing plugin;
+    // 段階 → [延期回数, 省略回数]
+    private final Map<Stage, long[]> degradations = new EnumMap<>(Stage.class);
+    private final Map<Stage, Double> skipThresholdMs = new EnumMap<>(Stage.class);
+    // 現在の tick で釣果処理に使った時間
+    private long chargedTick = -1;
+    private long chargedNanos;
+    // tick_budget の設定
+    private boolean enabled;
+    private long pluginBudgetNanos;
+
+    public EffectBudget(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        for (Stage stage : Stage.values()) {
+            degradations.put(stage, new long[2]);
+        }
+        reload();
+    }
+
+    /**
+     * tick_budget の設定を読み直す
+     */
+    public void reload() {
+        Configuration config = plugin.getConfig();
+        enabled = config.getBoolean("tick_budget.enabled", true);
+        pluginBudgetNanos = (long) (config.getDouble("tick_budget.plugin_budget_ms", 2.0) * 1_000_000L);
+        for (Stage stage : Stage.values()) {
+            skipThresholdMs.put(stage, config.getDouble("tick_budget." + stage.thresholdKey, stage.defaultThresholdMs));
+        }
+    }
+
+    /**
+     * 演出を実行するかどうかを判定する
+     *
+     * @param stage 演出の段階
+     * @return 実行・延期・省略のいずれか
+     */
+    public Decision decide(Stage stage) {
+        if (!enabled) {
+            return Decision.RUN;
+        }
+
+        Decision decision = Decision.RUN;
+        if (plugin.getTickClock().getAverageTickMillis() > skipThresholdMs.get(stage)) {
+            decision = Decision.SKIP;
+        } else if (getChargedNanos() > pluginBudgetNanos) {
+            decision = stage.deferrable ? Decision.DEFER : Decision.SKIP;
+        }
+
+        if (decision != Decision.RUN) {
+            degradations.get(stage)[decision == Decision.DEFER ? 0 : 1]++;
+        }
+        return decision;
+    }
+
+    /**
+     * 判定に従って演出を実行・延期・省略する
+     *
+     * @param stage  演出の段階
+     * @param effect 演出の処理
+     */
+    public void run(Stage stage, Runnable effect) {
+        switch (decide(stage)) {
+            case RUN -> effect.run();
+            case DEFER -> plugin.getTimingWheel().nextTick(effect);
+            case SKIP -> {
+            }
+        }
+    }
+
+    /**
+     * 釣果処理に使った時間を現在の tick に加算する
+     *
+     * @param nanos 処理時間（ナノ秒）
+     */
+    public void charge(long nanos) {
+        getChargedNanos();
+        chargedNanos += nanos;
+    }
+
+    /**
+     * 延期した回数
+     */
+    public long getDeferred(Stage stage) {
+        return degradations.get(stage)[0];
+    }
+
+    /**
+     * 省略した回数
+     */
+    public long getSkipped(Stage stage) {
+        return degradations.get(stage)[1];
+    }
+
+    private long getChargedNanos() {
+        long tick = plugin.getTickClock().getTick();
+        if (chargedTick != tick) {
+            chargedTick = tick;
+            chargedNanos = 0;
+        }
+        return chargedNanos;
+    }
+
+    /**
+     * 省略できる演出の段階（省略される順）
+     */
+    public enum Stage {
+        ANIMATION("skip_animation_ms", 55.0, false),
+        TIMING_DISPLAY("skip_fireworks_ms", 60.0, true),
+        FIREWORK("skip_fireworks_ms", 60.0, true),
+        PARTICLE("skip_particles_ms", 70.0, true);
+
+        private final String thresholdKey;
+        private final double defaultThresholdMs;
+        private final boolean deferrable;
+
+        Stage(String thresholdKey, double defaultThresholdMs, boolean deferrable) {
+            this.thresholdKey = thresholdKey;
+            this.defaultThresholdMs = defaultThresholdMs;
+            this.deferrable = deferrable;
+        }
+    }
+
+    /**
+     * 判定結果
+     */
+    public enum Decision {
+        RUN, DEFER, SKIP
+    }
+}
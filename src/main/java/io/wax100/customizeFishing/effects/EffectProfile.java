@@ -0,0 +1,84 @@
+package io.wax100.customizeFishing.effects;
+
+import org.bukkit.FireworkEffect;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * カテゴリごとの釣果の演出を、設定から解決済みの状態でまとめたもの。
+ * <p>
+ * {@link EffectProfiles} が設定の読み込み時に1回だけ組み立てる。各項目は無効化されているか
+ * 設定が無い場合は空（null・空リスト）になる。
+ *
+ * @param particles        パーティクル（primary, secondary の順）
+ * @param potionEffect     釣ったプレイヤーに付与するポーション効果
+ * @param firework         花火
+ * @param sound            効果音
+ * @param actionBarMessage アクションバーに表示するメッセージ
+ * @param announcement     全体通知のメッセージ（全体通知しないカテゴリは null）
+ */
+public record EffectProfile(
+        List<ParticleBurst> particles,
+        PotionEffect potionEffect,
+        Firework firework,
+        SoundCue sound,
+        MessageTemplate actionBarMessage,
+        MessageTemplate announcement
+) {
+
+    public EffectProfile {
+        particles = List.copyOf(particles);
+    }
+
+    /**
+     * パーティクル1種類分
+     */
+    public record ParticleBurst(Particle particle, int count, double spread) {
+    }
+
+    /**
+     * 組み立て済みの花火の効果と高度
+     */
+    public record Firework(FireworkEffect effect, int power) {
+    }
+
+    /**
+     * 効果音
+     */
+    public record SoundCue(Sound sound, float volume, float pitch) {
+    }
+
+    /**
+     * %player% の位置で分割し、色コードを変換済みのメッセージ
+     */
+    public static final class MessageTemplate {
+
+        private static final Pattern PLAYER_PLACEHOLDER = Pattern.compile(Pattern.quote("%player%"));
+
+        private final String[] segments;
+
+        /**
+         * @param translated 色コード変換済みのメッセージ
+         */
+        public MessageTemplate(String translated) {
+            this.segments = PLAYER_PLACEHOLDER.split(translated, -1);
+        }
+
+        /**
+         * %player% をプレイヤー名に置き換えたメッセージ
+         *
+         * @param playerName プレイヤー名
+         * @return 表示するメッセージ
+         */
+        public String render(String playerName) {
+            if (segments.length == 1) {
+                return segments[0];
+            }
+            return String.join(playerName, segments);
+        }
+    }
+}
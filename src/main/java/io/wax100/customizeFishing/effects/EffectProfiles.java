@@ -0,0 +1,257 @@
+package io.wax100.customizeFishing.effects;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.ChatColor;
+import org.bukkit.Color;
+import org.bukkit.FireworkEffect;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * カテゴリごとの {@link EffectProfile} を設定から組み立てて保持するクラス。
+ * <p>
+ * 釣果のたびに設定のパスを組み立てて enum 名や色名を解決し直さないよう、設定の読み込み時に
+ * 全カテゴリ分をまとめて組み立てる（生成時と設定リロード時に {@link #reload()} で組み立てる）。
+ * 不正な設定はこのときに1回だけ警告し、その項目は演出しない。
+ * 設定に無いカテゴリには、演出の無い共通の既定の演出を返す。
+ */
+public class EffectProfiles {
+
+    private static final String[] EFFECT_SECTIONS = {"particles", "potion_effects", "fireworks", "sounds", "action_bar_messages", "announcements"};
+
+    // 設定に無いカテゴリの演出（既定のメッセージのみ）
+    private static final EffectProfile DEFAULT_PROFILE = new EffectProfile(
+            List.of(), null, null, null, template("&6&lアイテムを釣り上げました！"), null);
+
+    private final CustomizeFishing plugin;
+    private Map<String, EffectProfile> profiles;
+
+    public EffectProfiles(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * カテゴリの演出を取得する（設定に無いカテゴリは既定のメッセージのみ）
+     *
+     * @param category カテゴリ名
+     * @return 演出
+     */
+    public EffectProfile get(String category) {
+        return profiles.getOrDefault(category, DEFAULT_PROFILE);
+    }
+
+    /**
+     * 全カテゴリの演出を組み立て直す（設定リロード時）
+     */
+    public void reload() {
+        build(plugin.getConfig());
+    }
+
+    private void build(Configuration config) {
+        Set<String> categories = new LinkedHashSet<>();
+        ConfigurationSection categorySection = config.getConfigurationSection("categories");
+        if (categorySection != null) {
+            categories.addAll(categorySection.getKeys(false));
+        }
+        for (String section : EFFECT_SECTIONS) {
+            ConfigurationSection effectSection = config.getConfigurationSection("effects." + section);
+            if (effectSection != null) {
+                for (String key : effectSection.getKeys(false)) {
+                    if (!key.equals("enabled")) {
+                        categories.add(key);
+                    }
+                }
+            }
+        }
+
+        Map<String, EffectProfile> compiled = new HashMap<>();
+        for (String category : categories) {
+            compiled.put(category, compile(config, category));
+        }
+        this.profiles = Map.copyOf(compiled);
+    }
+
+    private EffectProfile compile(Configuration config, String category) {
+        String defaultMessage = "&6&l" + category + "アイテムを釣り上げました！";
+        EffectProfile.MessageTemplate actionBarMessage = template(config.getString("effects.action_bar_messages." + category, defaultMessage));
+
+        EffectProfile.MessageTemplate announcement = null;
+        if (config.getBoolean("effects.broadcast_categories." + category.toLowerCase(), false)) {
+            String defaultBroadcastMessage = "&6%player%&eが&f" + category + "&eアイテムを釣り上げました！";
+            announcement = template(config.getString("effects.announcements." + category, defaultBroadcastMessage));
+        }
+
+        return new EffectProfile(
+                compileParticles(config, category),
+                compilePotionEffect(config, category),
+                compileFirework(config, category),
+                compileSound(config, category),
+                actionBarMessage,
+                announcement
+        );
+    }
+
+    private List<EffectProfile.ParticleBurst> compileParticles(Configuration config, String category) {
+        List<EffectProfile.ParticleBurst> particles = new ArrayList<>();
+        ConfigurationSection section = enabledSection(config, "particles", category);
+        if (section == null) {
+            return particles;
+        }
+
+        double spread = section.getDouble("spread", 1.5);
+        addParticle(particles, section, "primary", section.getInt("primary_count", 30), spread);
+        addParticle(particles, section, "secondary", section.getInt("secondary_count", 20), spread);
+        return particles;
+    }
+
+    private void addParticle(List<EffectProfile.ParticleBurst> particles, ConfigurationSection section, String key, int count, double spread) {
+        String name = section.getString(key);
+        if (name == null) {
+            return;
+        }
+        try {
+            particles.add(new EffectProfile.ParticleBurst(Particle.valueOf(name), count, spread));
+        } catch (IllegalArgumentException e) {
+            warn(section, key, "パーティクル", name);
+        }
+    }
+
+    private PotionEffect compilePotionEffect(Configuration config, String category) {
+        ConfigurationSection section = enabledSection(config, "potion_effects", category);
+        if (section == null) {
+            return null;
+        }
+
+        String name = section.getString("effect");
+        if (name == null) {
+            return null;
+        }
+        PotionEffectType type = PotionEffectType.getByName(name);
+        if (type == null) {
+            warn(section, "effect", "ポーション効果", name);
+            return null;
+        }
+        return new PotionEffect(type, section.getInt("duration", 60), section.getInt("amplifier", 0));
+    }
+
+    private EffectProfile.Firework compileFirework(Configuration config, String category) {
+        ConfigurationSection section = enabledSection(config, "fireworks", category);
+        if (section == null) {
+            return null;
+        }
+
+        FireworkEffect.Builder builder = FireworkEffect.builder();
+        Color[] colors = parseColors(section, "colors");
+        if (colors.length == 0) {
+            plugin.getLogger().warning(section.getCurrentPath() + ".colors に有効な色が無いため、花火を打ち上げません");
+            return null;
+        }
+        builder.withColor(colors);
+
+        Color[] fadeColors = parseColors(section, "fade_colors");
+        if (fadeColors.length > 0) {
+            builder.withFade(fadeColors);
+        }
+
+        String typeName = section.getString("type", "BALL");
+        try {
+            builder.with(FireworkEffect.Type.valueOf(typeName));
+        } catch (IllegalArgumentException e) {
+            warn(section, "type", "花火の種類", typeName + "（BALL を使用します）");
+            builder.with(FireworkEffect.Type.BALL);
+        }
+
+        if (section.getBoolean("flicker", false)) {
+            builder.withFlicker();
+        }
+        if (section.getBoolean("trail", false)) {
+            builder.withTrail();
+        }
+        return new EffectProfile.Firework(builder.build(), section.getInt("power", 1));
+    }
+
+    private Color[] parseColors(ConfigurationSection section, String key) {
+        List<Color> colors = new ArrayList<>();
+        for (String name : section.getStringList(key)) {
+            Color color = parseColor(name);
+            if (color == null) {
+                warn(section, key, "色", name);
+            } else {
+                colors.add(color);
+            }
+        }
+        return colors.toArray(new Color[0]);
+    }
+
+    private Color parseColor(String colorName) {
+        return switch (colorName.toUpperCase()) {
+            case "AQUA" -> Color.AQUA;
+            case "BLACK" -> Color.BLACK;
+            case "BLUE" -> Color.BLUE;
+            case "FUCHSIA" -> Color.FUCHSIA;
+            case "GRAY" -> Color.GRAY;
+            case "GREEN" -> Color.GREEN;
+            case "LIME" -> Color.LIME;
+            case "MAROON" -> Color.MAROON;
+            case "NAVY" -> Color.NAVY;
+            case "OLIVE" -> Color.OLIVE;
+            case "ORANGE" -> Color.ORANGE;
+            case "PURPLE" -> Color.PURPLE;
+            case "RED" -> Color.RED;
+            case "SILVER" -> Color.SILVER;
+            case "TEAL" -> Color.TEAL;
+            case "WHITE" -> Color.WHITE;
+            case "YELLOW" -> Color.YELLOW;
+            default -> null;
+        };
+    }
+
+    private EffectProfile.SoundCue compileSound(Configuration config, String category) {
+        ConfigurationSection section = enabledSection(config, "sounds", category);
+        if (section == null) {
+            return null;
+        }
+
+        String name = section.getString("sound");
+        if (name == null) {
+            return null;
+        }
+        try {
+            return new EffectProfile.SoundCue(Sound.valueOf(name),
+                    (float) section.getDouble("volume", 1.0), (float) section.getDouble("pitch", 1.0));
+        } catch (IllegalArgumentException e) {
+            warn(section, "sound", "効果音", name);
+            return null;
+        }
+    }
+
+    /**
+     * 演出が有効な場合のみカテゴリの設定を返す
+     */
+    private ConfigurationSection enabledSection(Configuration config, String effect, String category) {
+        if (!config.getBoolean("effects." + effect + ".enabled", true)) {
+            return null;
+        }
+        return config.getConfigurationSection("effects." + effect + "." + category);
+    }
+
+    private static EffectProfile.MessageTemplate template(String message) {
+        return new EffectProfile.MessageTemplate(ChatColor.translateAlternateColorCodes('&', message));
+    }
+
+    private void warn(ConfigurationSection section, String key, String kind, String value) {
+        plugin.getLogger().warning(section.getCurrentPath() + "." + key + " の" + kind + "が不正です: " + value);
+    }
+}
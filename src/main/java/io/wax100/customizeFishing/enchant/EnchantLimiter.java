@@ -1,13 +1,15 @@
 package io.wax100.customizeFishing.enchant;
 
 import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.fishing.RodProfile;
+import io.wax100.customizeFishing.item.ItemFinalization;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.FishHook;
-import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,50 +29,62 @@ public class EnchantLimiter {
     private static final int VANILLA_MIN_LURE_TIME = 20;
     private static final int VANILLA_MAX_LURE_TIME = 80;
     private final CustomizeFishing plugin;
-    // item_caps のキャッシュ（config オブジェクトが変わったとき＝リロード時に再読込）
-    private Map<Enchantment, Integer> cachedItemCaps;
-    private Configuration cachedItemCapsSource;
+    private Map<Enchantment, Integer> itemCaps;
 
     public EnchantLimiter(CustomizeFishing plugin) {
         this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * config の enchant_limits.item_caps を読み直す
+     */
+    public void reload() {
+        itemCaps = loadItemCaps(plugin.getConfig());
     }
 
     private boolean isEnabled() {
         return plugin.getConfig().getBoolean("enchant_limits.enabled", true);
     }
 
+    /**
+     * エンチャント上限の切り詰めを適用するか（メタデータを持たないアイテムにはエンチャントが無い）
+     *
+     * @param finalization 仕上げ処理
+     * @return 適用する場合true
+     */
+    public boolean appliesTo(ItemFinalization finalization) {
+        return isEnabled() && finalization.item().hasItemMeta() && !itemCaps.isEmpty();
+    }
+
     /**
      * 釣果アイテムのエンチャントを config の enchant_limits.item_caps に従って切り詰める。
      * 通常エンチャントとエンチャント本の格納エンチャントの両方を対象とする。
      *
-     * @param item 釣果アイテム
-     * @return 切り詰め後のアイテム（引数と同一インスタンス）
+     * @param finalization 仕上げ処理
      */
-    public ItemStack clampItemEnchants(ItemStack item) {
-        if (!isEnabled() || item == null) {
-            return item;
-        }
-
-        for (Map.Entry<Enchantment, Integer> capEntry : getItemCaps().entrySet()) {
+    public void clampItemEnchants(ItemFinalization finalization) {
+        ItemMeta meta = finalization.meta();
+        for (Map.Entry<Enchantment, Integer> capEntry : itemCaps.entrySet()) {
             Enchantment enchant = capEntry.getKey();
             int cap = capEntry.getValue();
 
-            int level = item.getEnchantmentLevel(enchant);
+            int level = meta.getEnchantLevel(enchant);
             if (level > cap) {
-                item.addUnsafeEnchantment(enchant, cap);
+                meta.addEnchant(enchant, cap, true);
+                finalization.markDirty();
                 plugin.getLogger().info("釣果アイテムの " + enchant.getKey() + " Lv" + level + " を上限 Lv" + cap + " に制限しました");
             }
 
-            if (item.getItemMeta() instanceof EnchantmentStorageMeta storageMeta) {
-                Integer stored = storageMeta.getStoredEnchants().get(enchant);
-                if (stored != null && stored > cap) {
+            if (meta instanceof EnchantmentStorageMeta storageMeta) {
+                int stored = storageMeta.getStoredEnchantLevel(enchant);
+                if (stored > cap) {
                     storageMeta.addStoredEnchant(enchant, cap, true);
-                    item.setItemMeta(storageMeta);
+                    finalization.markDirty();
                     plugin.getLogger().info("エンチャント本の " + enchant.getKey() + " Lv" + stored + " を上限 Lv" + cap + " に制限しました");
                 }
             }
         }
-        return item;
     }
 
     /**
@@ -81,18 +95,17 @@ public class EnchantLimiter {
      * さらに、魚の接近時間（Phase 2: lureTime、バニラでは20〜80tick）も
      * 超過レベルに比例して短縮し、Lv105以上では着水ほぼ即ヒットになる。
      *
-     * @param hook 浮き
-     * @param rod  使用中の釣り竿
+     * @param lureLevel 使用中の釣り竿の入れ食いレベル
+     * @return 浮きに設定する待ち時間、補正が不要な場合はnull
      */
-    public void applyLureBehaviorCap(FishHook hook, ItemStack rod) {
-        if (!isEnabled() || rod == null) {
-            return;
+    public HookTimings computeHookTimings(int lureLevel) {
+        if (!isEnabled()) {
+            return null;
         }
 
         int vanillaSafeMax = plugin.getConfig().getInt("enchant_limits.lure_behavior_cap", 5);
-        int lureLevel = rod.getEnchantmentLevel(Enchantment.LURE);
         if (lureLevel <= vanillaSafeMax) {
-            return;
+            return null;
         }
 
         // lure:127（GODの釣り竿）は全待ち時間を最小にして着水即ヒット
@@ -101,12 +114,7 @@ public class EnchantLimiter {
         // 1-12700で常にマイナスとなり永遠に再抽選されてヒットしない。
         // setApplyLure(false)でこの減算自体を無効化し、実効1tickを保証する。
         if (lureLevel == 127) {
-            hook.setApplyLure(false);
-            hook.setMinWaitTime(1);
-            hook.setMaxWaitTime(1);
-            hook.setMinLureTime(1);
-            hook.setMaxLureTime(1);
-            return;
+            return new HookTimings(false, 1, 1, 1, 1);
         }
 
         int extraLevels = lureLevel - vanillaSafeMax;
@@ -120,8 +128,6 @@ public class EnchantLimiter {
         // applyLure等の抽選経路には一切触れないので、BITEイベント発火・タイミング判定・
         // 確率表示などはLv5以下の竿と完全に同じ挙動になる。
         int reduction = lureLevel * TICKS_PER_LURE_LEVEL;
-        hook.setMaxWaitTime(reduction + effectiveMaxWait);
-        hook.setMinWaitTime(reduction + 1);
 
         // === Phase 2: 魚の接近時間（lureTime / timeUntilHooked）の短縮 ===
         // バニラでは20〜80tickだが、超過レベルに応じて短縮する。
@@ -129,20 +135,29 @@ public class EnchantLimiter {
         double lureTimeRatio = Math.max(0.0, 1.0 - extraLevels / 100.0);
         int effectiveMinLure = Math.max(1, (int) (VANILLA_MIN_LURE_TIME * lureTimeRatio));
         int effectiveMaxLure = Math.max(1, (int) (VANILLA_MAX_LURE_TIME * lureTimeRatio));
-        hook.setMinLureTime(effectiveMinLure);
-        hook.setMaxLureTime(effectiveMaxLure);
+
+        return new HookTimings(true, reduction + 1, reduction + effectiveMaxWait, effectiveMinLure, effectiveMaxLure);
     }
 
     /**
-     * item_caps を取得する（configリロードまでキャッシュ）
+     * 竿のプロファイルで事前計算した待ち時間を浮きに設定する
+     *
+     * @param hook    浮き
+     * @param profile 使用中の釣り竿のプロファイル
      */
-    private Map<Enchantment, Integer> getItemCaps() {
-        Configuration config = plugin.getConfig();
-        if (cachedItemCaps == null || cachedItemCapsSource != config) {
-            cachedItemCaps = loadItemCaps(config);
-            cachedItemCapsSource = config;
+    public void applyLureBehaviorCap(FishHook hook, RodProfile profile) {
+        HookTimings timings = profile.hookTimings();
+        if (timings == null) {
+            return;
         }
-        return cachedItemCaps;
+
+        if (!timings.applyLure()) {
+            hook.setApplyLure(false);
+        }
+        hook.setMaxWaitTime(timings.maxWaitTime());
+        hook.setMinWaitTime(timings.minWaitTime());
+        hook.setMinLureTime(timings.minLureTime());
+        hook.setMaxLureTime(timings.maxLureTime());
     }
 
     /**
@@ -166,4 +181,16 @@ public class EnchantLimiter {
         }
         return caps;
     }
+
+    /**
+     * 浮きに設定する待ち時間（tick）
+     *
+     * @param applyLure   バニラの入れ食いによる待ち時間の減算を行うか
+     * @param minWaitTime 最小待機時間
+     * @param maxWaitTime 最大待機時間
+     * @param minLureTime 魚の最小接近時間
+     * @param maxLureTime 魚の最大接近時間
+     */
+    public record HookTimings(boolean applyLure, int minWaitTime, int maxWaitTime, int minLureTime, int maxLureTime) {
+    }
 }
@@ -15,20 +15,18 @@ public enum Weather {
     }
 
     /**
-     * Bukkitの天気情報から対応するWeatherを取得
+     * コンフィグのキー名から対応するWeatherを取得
      *
-     * @param hasStorm     嵐が発生しているか
-     * @param isThundering 雷が鳴っているか
-     * @return 対応するWeather
+     * @param configKey コンフィグキー（clear / rain / thunder）
+     * @return 対応するWeather、該当しない場合はnull
      */
-    public static Weather fromBukkitWeather(boolean hasStorm, boolean isThundering) {
-        if (isThundering) {
-            return THUNDER;
-        } else if (hasStorm) {
-            return RAIN;
-        } else {
-            return CLEAR;
+    public static Weather fromConfigKey(String configKey) {
+        for (Weather weather : values()) {
+            if (weather.configKey.equalsIgnoreCase(configKey)) {
+                return weather;
+            }
         }
+        return null;
     }
 
     /**
@@ -0,0 +1,150 @@
+package io.wax100.customizeFishing.fishing;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.enums.Weather;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * バイオームの降水を考慮して釣り針の位置の天気を求めるクラス。
+ * <p>
+ * ワールドが嵐でも、砂漠・荒野・サバンナなど降水の無いバイオームでは晴れとして扱う。
+ * 雪の降るバイオームは既定ではワールドの天気（雷雨を含む）のままとし、
+ * biome_weather.snow_weather を指定した場合はその天気として扱う。
+ * バイオームごとの降水は起動時に表にしておき、設定の上書き（biome_weather.overrides）は
+ * {@link #reload()} でだけ反映し直す。釣果ごとの処理は表の参照のみ。
+ */
+public class BiomeWeather {
+
+    // 降水の無いバイオーム（バージョン差異に備えて名前で指定）
+    private static final Set<String> DRY_BIOMES = Set.of(
+            "DESERT", "BADLANDS", "ERODED_BADLANDS", "WOODED_BADLANDS",
+            "SAVANNA", "SAVANNA_PLATEAU", "WINDSWEPT_SAVANNA",
+            "NETHER_WASTES", "SOUL_SAND_VALLEY", "CRIMSON_FOREST", "WARPED_FOREST", "BASALT_DELTAS",
+            "THE_END", "SMALL_END_ISLANDS", "END_MIDLANDS", "END_HIGHLANDS", "END_BARRENS", "THE_VOID"
+    );
+    // 雪の降るバイオーム
+    private static final Set<String> SNOWY_BIOMES = Set.of(
+            "SNOWY_PLAINS", "ICE_SPIKES", "SNOWY_TAIGA", "SNOWY_BEACH", "SNOWY_SLOPES",
+            "FROZEN_RIVER", "FROZEN_OCEAN", "DEEP_FROZEN_OCEAN", "FROZEN_PEAKS", "JAGGED_PEAKS", "GROVE"
+    );
+
+    private final CustomizeFishing plugin;
+    // 起動時に作成するバイオーム → 降水の表
+    private final Map<Biome, Precipitation> defaultPrecipitation = new EnumMap<>(Biome.class);
+    // 設定の上書きを反映した表
+    private Map<Biome, Precipitation> precipitation;
+    private boolean enabled;
+    // 雪の降るバイオームでの天気（null はワールドの天気のまま）
+    private Weather snowWeather;
+
+    public BiomeWeather(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        for (Biome biome : Biome.values()) {
+            Precipitation value = Precipitation.RAIN;
+            if (DRY_BIOMES.contains(biome.name())) {
+                value = Precipitation.NONE;
+            } else if (SNOWY_BIOMES.contains(biome.name())) {
+                value = Precipitation.SNOW;
+            }
+            defaultPrecipitation.put(biome, value);
+        }
+        reload();
+    }
+
+    /**
+     * 指定位置の天気を取得する
+     *
+     * @param location 位置（釣り針など）
+     * @return バイオームの降水を考慮した天気
+     */
+    public Weather resolve(Location location) {
+        World world = location.getWorld();
+        if (world == null || !world.hasStorm()) {
+            return Weather.CLEAR;
+        }
+
+        Weather worldWeather = world.isThundering() ? Weather.THUNDER : Weather.RAIN;
+        if (!enabled) {
+            return worldWeather;
+        }
+
+        Biome biome = world.getBiome(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        return switch (precipitation.getOrDefault(biome, Precipitation.RAIN)) {
+            case NONE -> Weather.CLEAR;
+            case SNOW -> snowWeather != null ? snowWeather : worldWeather;
+            case RAIN -> worldWeather;
+        };
+    }
+
+    /**
+     * biome_weather の設定を読み直し、上書きを反映した表を作り直す
+     */
+    public void reload() {
+        Configuration config = plugin.getConfig();
+        enabled = config.getBoolean("biome_weather.enabled", true);
+        String snowKey = config.getString("biome_weather.snow_weather", "inherit");
+        snowWeather = null;
+        if (!"inherit".equalsIgnoreCase(snowKey)) {
+            snowWeather = Weather.fromConfigKey(snowKey);
+            if (snowWeather == null) {
+                plugin.getLogger().warning("biome_weather.snow_weather の天気が不正です: " + snowKey + "（ワールドの天気を使用します）");
+            }
+        }
+
+        precipitation = new EnumMap<>(defaultPrecipitation);
+        ConfigurationSection overrides = config.getConfigurationSection("biome_weather.overrides");
+        if (overrides != null) {
+            for (String key : overrides.getKeys(false)) {
+                Biome biome = findBiome(key);
+                Precipitation value = Precipitation.fromConfigKey(overrides.getString(key));
+                if (biome == null || value == null) {
+                    plugin.getLogger().warning("biome_weather.overrides の設定が不正です: " + key + ": " + overrides.getString(key));
+                    continue;
+                }
+                precipitation.put(biome, value);
+            }
+        }
+    }
+
+    private static Biome findBiome(String key) {
+        String name = key.toUpperCase(Locale.ROOT);
+        int separator = name.indexOf(':');
+        if (separator >= 0) {
+            name = name.substring(separator + 1);
+        }
+        for (Biome biome : Biome.values()) {
+            if (biome.name().equals(name)) {
+                return biome;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * バイオームの降水の種類
+     */
+    private enum Precipitation {
+        NONE, RAIN, SNOW;
+
+        static Precipitation fromConfigKey(String key) {
+            if (key == null) {
+                return null;
+            }
+            for (Precipitation value : values()) {
+                if (value.name().equalsIgnoreCase(key)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package io.wax100.customizeFishing.fishing;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.entity.FishHook;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * プレイヤーごとの釣果処理の回数を制限するクラス（catch_governor）。
+ * <p>
+ * 入れ食いLv127の竿では1tickで浮きが沈むため、放置しているだけで毎秒10回近く
+ * カテゴリ抽選・演出・アナウンスが実行される。直近 window_seconds 秒の釣果処理の回数を
+ * 1秒単位のバケットのリングで数え、max_catches を超えたプレイヤーには action の制限を適用する。
+ * <ul>
+ *   <li>lengthen: 次に投げた浮きの待ち時間を延ばす（釣果はそのまま処理する）</li>
+ *   <li>degrade: バニラの釣果のまま、抽選・演出を行わない</li>
+ *   <li>reject: 釣果をキャンセルする</li>
+ * </ul>
+ * イベントはすべてメインスレッドで処理されるため、カウンタは同期化していない。
+ */
+public class CatchGovernor {
+
+    private static final long TICKS_PER_BUCKET = 20L;
+
+    private final CustomizeFishing plugin;
+    private final Map<UUID, Window> windows = new HashMap<>();
+    private final Map<UUID, PlayerMetrics> metrics = new HashMap<>();
+    // catch_governor の設定
+    private boolean enabled;
+    private int windowBuckets;
+    private int maxCatches;
+    private Action action;
+    private int lengthenMinWaitTicks;
+    private int lengthenMaxWaitTicks;
+
+    public CatchGovernor(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * 釣り上げ時の制限を判定する。制限しない場合は釣果処理1回として数える
+     *
+     * @param player プレイヤー
+     * @return 適用する制限（制限しない場合は {@link Action#NONE}）
+     */
+    public Action onCatch(Player player) {
+        if (!enabled) {
+            return Action.NONE;
+        }
+
+        Window window = getWindow(player);
+        PlayerMetrics playerMetrics = getMetrics(player);
+        if (window.count() >= maxCatches && action != Action.LENGTHEN) {
+            playerMetrics.record(action);
+            return action;
+        }
+
+        window.add();
+        playerMetrics.admitted++;
+        return Action.NONE;
+    }
+
+    /**
+     * 浮きを投げた時点で制限中なら待ち時間を延ばす
+     *
+     * @param player プレイヤー
+     * @param hook   浮き
+     * @return 待ち時間を延ばした場合true
+     */
+    public boolean onCast(Player player, FishHook hook) {
+        if (!enabled || action != Action.LENGTHEN || getWindow(player).count() < maxCatches) {
+            return false;
+        }
+
+        hook.setApplyLure(false);
+        hook.setMaxWaitTime(lengthenMaxWaitTicks);
+        hook.setMinWaitTime(lengthenMinWaitTicks);
+        getMetrics(player).record(Action.LENGTHEN);
+        return true;
+    }
+
+    /**
+     * ログアウトしたプレイヤーのカウンタを破棄する（統計は残す）
+     *
+     * @param player プレイヤー
+     */
+    public void forget(Player player) {
+        windows.remove(player.getUniqueId());
+    }
+
+    /**
+     * 制限した回数の多いプレイヤーの統計
+     *
+     * @param limit 件数
+     * @return 制限回数の多い順
+     */
+    public List<PlayerMetrics> getTopPlayers(int limit) {
+        List<PlayerMetrics> sorted = new ArrayList<>(metrics.values());
+        sorted.sort(Comparator.comparingLong(PlayerMetrics::getGoverned).reversed()
+                .thenComparing(Comparator.comparingLong(PlayerMetrics::getAdmitted).reversed()));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    private Window getWindow(Player player) {
+        Window window = windows.computeIfAbsent(player.getUniqueId(), k -> new Window(windowBuckets));
+        window.advance(plugin.getTickClock().getTick() / TICKS_PER_BUCKET);
+        return window;
+    }
+
+    private PlayerMetrics getMetrics(Player player) {
+        PlayerMetrics playerMetrics = metrics.computeIfAbsent(player.getUniqueId(), k -> new PlayerMetrics());
+        playerMetrics.playerName = player.getName();
+        return playerMetrics;
+    }
+
+    /**
+     * catch_governor の設定を読み直す
+     */
+    public void reload() {
+        Configuration config = plugin.getConfig();
+        enabled = config.getBoolean("catch_governor.enabled", false);
+        windowBuckets = Math.max(1, config.getInt("catch_governor.window_seconds", 10));
+        maxCatches = Math.max(1, config.getInt("catch_governor.max_catches", 15));
+        String actionKey = config.getString("catch_governor.action", "lengthen");
+        try {
+            action = Action.valueOf(actionKey.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("catch_governor.action が不正です: " + actionKey + "（lengthen を使用します）");
+            action = Action.LENGTHEN;
+        }
+        if (action == Action.NONE) {
+            enabled = false;
+        }
+        lengthenMinWaitTicks = Math.max(1, config.getInt("catch_governor.lengthen.min_wait_ticks", 100));
+        lengthenMaxWaitTicks = Math.max(lengthenMinWaitTicks, config.getInt("catch_governor.lengthen.max_wait_ticks", 200));
+        // 窓の長さが変わる可能性があるため、カウンタを作り直す
+        windows.clear();
+    }
+
+    /**
+     * 制限の種類
+     */
+    public enum Action {
+        NONE, LENGTHEN, DEGRADE, REJECT
+    }
+
+    /**
+     * 直近の釣果処理の回数（1秒単位のバケットのリング）
+     */
+    private static final class Window {
+
+        private final int[] buckets;
+        private long headBucket = Long.MIN_VALUE;
+        private int count;
+
+        private Window(int size) {
+            this.buckets = new int[size];
+        }
+
+        /**
+         * 現在のバケットまで進め、窓から外れたバケットを捨てる
+         */
+        private void advance(long bucket) {
+            if (headBucket == Long.MIN_VALUE || bucket - headBucket >= buckets.length) {
+                Arrays.fill(buckets, 0);
+                count = 0;
+            } else {
+                for (long b = headBucket + 1; b <= bucket; b++) {
+                    int slot = (int) Math.floorMod(b, (long) buckets.length);
+                    count -= buckets[slot];
+                    buckets[slot] = 0;
+                }
+            }
+            if (bucket > headBucket) {
+                headBucket = bucket;
+            }
+        }
+
+        private void add() {
+            buckets[(int) Math.floorMod(headBucket, (long) buckets.length)]++;
+            count++;
+        }
+
+        private int count() {
+            return count;
+        }
+    }
+
+    /**
+     * プレイヤーごとの制限の統計
+     */
+    public static final class PlayerMetrics {
+
+        private String playerName;
+        private long admitted;
+        private long lengthened;
+        private long degraded;
+        private long rejected;
+
+        private void record(Action action) {
+            switch (action) {
+                case LENGTHEN -> lengthened++;
+                case DEGRADE -> degraded++;
+                case REJECT -> rejected++;
+                default -> {
+                }
+            }
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        /**
+         * 通常どおり処理した釣果の回数
+         */
+        public long getAdmitted() {
+            return admitted;
+        }
+
+        public long getLengthened() {
+            return lengthened;
+        }
+
+        public long getDegraded() {
+            return degraded;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * 制限した回数の合計
+         */
+        public long getGoverned() {
+            return lengthened + degraded + rejected;
+        }
+    }
+}
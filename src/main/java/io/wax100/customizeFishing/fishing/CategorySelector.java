@@ -32,10 +32,10 @@ public class CategorySelector {
      * @param luckResult    幸運計算結果
      * @param openWater     開水域かどうか
      * @param weather       天気
-     * @param dolphinsGrace イルカの好意エフェクトがあるか
+     * @param state         釣り上げた時点のプレイヤーの状態
      * @return 選択されたカテゴリ
      */
-    public String determineCategoryFromConfig(Player player, LuckResult luckResult, boolean openWater, Weather weather, boolean dolphinsGrace) {
+    public String determineCategoryFromConfig(Player player, LuckResult luckResult, boolean openWater, Weather weather, PlayerStateSnapshot state) {
         ConfigurationSection categoriesSection = plugin.getConfig().getConfigurationSection("categories");
         if (categoriesSection == null) {
             return null;
@@ -46,7 +46,7 @@ public class CategorySelector {
         for (String categoryName : categoriesSection.getKeys(false)) {
             ConfigurationSection categorySection = categoriesSection.getConfigurationSection(categoryName);
 
-            if (!checkCategoryConditions(categorySection, luckResult, openWater, weather, dolphinsGrace)) {
+            if (!checkCategoryConditions(categorySection, luckResult, openWater, weather, state.dolphinsGrace())) {
                 int priority = Objects.requireNonNull(categorySection).getInt("priority", 999);
                 double quality = categorySection.getDouble("quality", 0);
                 double chance = categorySection.getDouble("chance", 0);
@@ -194,10 +194,10 @@ public class CategorySelector {
      * @param luckResult    幸運計算結果
      * @param openWater     開水域かどうか
      * @param weather       天気
-     * @param dolphinsGrace イルカの好意エフェクトがあるか
+     * @param state         釣り上げた時点のプレイヤーの状態
      * @return 条件を満たすカテゴリ数
      */
-    public int getEligibleCategoryCount(LuckResult luckResult, boolean openWater, Weather weather, boolean dolphinsGrace) {
+    public int getEligibleCategoryCount(LuckResult luckResult, boolean openWater, Weather weather, PlayerStateSnapshot state) {
         ConfigurationSection categoriesSection = plugin.getConfig().getConfigurationSection("categories");
         if (categoriesSection == null) {
             return 0;
@@ -206,7 +206,7 @@ public class CategorySelector {
         int count = 0;
         for (String categoryName : categoriesSection.getKeys(false)) {
             ConfigurationSection categorySection = categoriesSection.getConfigurationSection(categoryName);
-            if (checkCategoryConditions(categorySection, luckResult, openWater, weather, dolphinsGrace)) {
+            if (checkCategoryConditions(categorySection, luckResult, openWater, weather, state.dolphinsGrace())) {
                 count++;
             }
         }
@@ -7,13 +7,9 @@ import io.wax100.customizeFishing.luck.LuckResult;
 import io.wax100.customizeFishing.timing.TimingResult;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.potion.PotionEffectType;
-
-import java.util.Objects;
 
 public class DoubleFishingHandler {
 
@@ -32,24 +28,18 @@ public class DoubleFishingHandler {
     /**
      * ダブルフィッシング条件をチェック
      *
-     * @param player プレイヤー
+     * @param state 釣り上げた時点のプレイヤーの状態
      * @return 宝釣りLv10以上かつコンジットパワーLv2以上の場合true
      */
-    public boolean canDoubleFish(Player player) {
-        boolean hasConduitPower = player.hasPotionEffect(PotionEffectType.CONDUIT_POWER);
-        int conduitLevel = hasConduitPower ?
-                Objects.requireNonNull(player.getPotionEffect(PotionEffectType.CONDUIT_POWER)).getAmplifier() + 1 : 0;
-
-        ItemStack fishingRod = player.getInventory().getItemInMainHand();
-        int luckOfSeaLevel = fishingRod.getEnchantmentLevel(Enchantment.LUCK);
-
-        return luckOfSeaLevel >= 10 && conduitLevel >= 2;
+    public boolean canDoubleFish(PlayerStateSnapshot state) {
+        return state.rodProfile().luckLevel() >= 10 && state.conduitLevel() >= 2;
     }
 
     /**
      * ダブルフィッシング処理を実行
      *
      * @param player             プレイヤー
+     * @param state              釣り上げた時点のプレイヤーの状態
      * @param originalItemEntity 元のアイテムエンティティ
      * @param hookLocation       釣り針の位置
      * @param timingResult       タイミング結果
@@ -57,18 +47,18 @@ public class DoubleFishingHandler {
      * @param isOpenWater        開水域かどうか
      * @param weather            天気
      */
-    public void handleDoubleFishing(Player player, Item originalItemEntity, Location hookLocation, TimingResult timingResult, LuckResult luckResult, boolean isOpenWater, Weather weather) {
-        FishingProcessor.FishingResult firstResult = fishingProcessor.processFishing(player, originalItemEntity, hookLocation, false, timingResult, luckResult, isOpenWater, weather);
+    public void handleDoubleFishing(Player player, PlayerStateSnapshot state, Item originalItemEntity, Location hookLocation, TimingResult timingResult, LuckResult luckResult, boolean isOpenWater, Weather weather) {
+        FishingProcessor.FishingResult firstResult = fishingProcessor.processFishing(player, state, originalItemEntity, hookLocation, false, timingResult, luckResult, isOpenWater, weather);
 
         ItemStack bonusItem = new ItemStack(Material.COD);
         Item bonusEntity = player.getWorld().dropItem(hookLocation, bonusItem);
         bonusEntity.setPickupDelay(Integer.MAX_VALUE);
 
-        FishingProcessor.FishingResult secondResult = fishingProcessor.processFishing(player, bonusEntity, hookLocation, true, timingResult, luckResult, isOpenWater, weather);
+        FishingProcessor.FishingResult secondResult = fishingProcessor.processFishing(player, state, bonusEntity, hookLocation, true, timingResult, luckResult, isOpenWater, weather);
 
-        displayDoubleFishingResults(player, firstResult, secondResult);
+        displayDoubleFishingResults(player, state, firstResult, secondResult);
 
-        bonusEntity.teleport(player.getLocation());
+        bonusEntity.teleport(state.location());
         bonusEntity.setPickupDelay(0);
     }
 
@@ -76,24 +66,25 @@ public class DoubleFishingHandler {
      * ダブルフィッシング時の両方の結果を同時に表示
      *
      * @param player プレイヤー
+     * @param state  釣り上げた時点のプレイヤーの状態
      * @param first  最初の釣り結果
      * @param second 2回目の釣り結果
      */
-    private void displayDoubleFishingResults(Player player, FishingProcessor.FishingResult first, FishingProcessor.FishingResult second) {
+    private void displayDoubleFishingResults(Player player, PlayerStateSnapshot state, FishingProcessor.FishingResult first, FishingProcessor.FishingResult second) {
         // 両方バニラ結果の場合はエフェクトをスキップ
         if (first.category() == null && second.category() == null) {
             return;
         }
         // 片方がバニラ結果の場合はもう片方のカテゴリでエフェクト再生
         if (first.category() == null) {
-            catchEffects.playCatchEffects(player, second.category(), second.probabilityInfo());
+            catchEffects.playCatchEffects(player, state, second.category(), second.probabilityInfo());
             return;
         }
         if (second.category() == null) {
-            catchEffects.playCatchEffects(player, first.category(), first.probabilityInfo());
+            catchEffects.playCatchEffects(player, state, first.category(), first.probabilityInfo());
             return;
         }
         String primaryCategory = categorySelector.getHigherPriorityCategory(first.category(), second.category());
-        catchEffects.playDoubleFishingEffects(player, primaryCategory, first, second);
+        catchEffects.playDoubleFishingEffects(player, state, primaryCategory, first, second);
     }
 }
\ No newline at end of file
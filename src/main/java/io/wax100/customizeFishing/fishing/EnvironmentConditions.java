@@ -0,0 +1,203 @@
+package io.wax100.customizeFishing.fishing;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.enums.Weather;
+import org.bukkit.HeightMap;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 釣り針の上下にあるブロックによる環境条件（config.yml の environment_conditions）。
+ * <p>
+ * 条件ごとのブロックIDは設定の読み込み時に Material の集合へ変換しておき、
+ * 釣り針の位置ごとの判定結果をキャッシュする（{@link HookPositionCache}）。キャッシュは列（x, z）単位でも索引し、
+ * 列内のブロックが変化したときにその列のキャッシュだけを破棄する。
+ */
+public class EnvironmentConditions {
+
+    private static final int MAX_ENTRIES = 1024;
+    // ピストンなどイベントで捕捉しきれない変化に備えた最大保持時間
+    private static final long MAX_AGE_MILLIS = 60_000L;
+    // 列（1x1）単位で索引する
+    private static final int COLUMN_SHIFT = 0;
+
+    private final CustomizeFishing plugin;
+    private final HookPositionCache<EnvironmentEffect> cache = new HookPositionCache<>(MAX_ENTRIES, MAX_AGE_MILLIS, COLUMN_SHIFT);
+    // environment_conditions のコンパイル結果
+    private List<Condition> conditions = List.of();
+
+    public EnvironmentConditions(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * environment_conditions をコンパイルし直し、判定結果のキャッシュを破棄する
+     */
+    public void reload() {
+        conditions = compile(plugin.getConfig().getConfigurationSection("environment_conditions"));
+        cache.clear();
+    }
+
+    /**
+     * 釣り針の位置に適用される環境条件の効果を取得する
+     *
+     * @param hookLocation 釣り針の位置
+     * @return 該当した条件の効果（該当なしは {@link EnvironmentEffect#NONE}）
+     */
+    public EnvironmentEffect evaluate(Location hookLocation) {
+        List<Condition> compiled = conditions;
+        World world = hookLocation.getWorld();
+        if (compiled.isEmpty() || world == null) {
+            return EnvironmentEffect.NONE;
+        }
+
+        int x = hookLocation.getBlockX();
+        int y = hookLocation.getBlockY();
+        int z = hookLocation.getBlockZ();
+        return cache.get(world, x, y, z, () -> scan(world, x, y, z, compiled));
+    }
+
+    /**
+     * ブロックが変化した列の判定結果を破棄する
+     *
+     * @param block 変化したブロック
+     */
+    public void invalidate(Block block) {
+        cache.invalidate(block.getWorld().getUID(),
+                block.getX(), block.getX(), Integer.MIN_VALUE, Integer.MAX_VALUE, block.getZ(), block.getZ());
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    /**
+     * キャッシュヒット率（0.0〜1.0）
+     */
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    /**
+     * 釣り針の列を走査し、該当する条件の効果をまとめる
+     */
+    private EnvironmentEffect scan(World world, int hookX, int hookY, int hookZ, List<Condition> compiled) {
+        // 釣り針より上に空気以外のブロックが無ければ、上方向の走査は不要
+        int highestBlockY = world.getHighestBlockYAt(hookX, hookZ, HeightMap.WORLD_SURFACE);
+
+        Weather weather = null;
+        double luck = 0;
+        boolean matched = false;
+        for (Condition condition : compiled) {
+            int from;
+            int to;
+            if (condition.above()) {
+                from = hookY + 1;
+                to = Math.min(hookY + condition.range(), highestBlockY);
+            } else {
+                from = Math.max(hookY - condition.range(), world.getMinHeight());
+                to = hookY - 1;
+            }
+
+            for (int y = from; y <= to; y++) {
+                if (condition.blocks().contains(world.getBlockAt(hookX, y, hookZ).getType())) {
+                    matched = true;
+                    luck += condition.luck();
+                    if (condition.weather() != null) {
+                        weather = condition.weather();
+                    }
+                    break;
+                }
+            }
+        }
+        return matched ? new EnvironmentEffect(weather, luck) : EnvironmentEffect.NONE;
+    }
+
+    private List<Condition> compile(ConfigurationSection section) {
+        if (section == null) {
+            return List.of();
+        }
+
+        // 名前空間付きID（例: twilightforest:rainy_cloud）→ Material
+        Map<String, Material> materialsById = new HashMap<>();
+        for (Material material : Material.values()) {
+            materialsById.put(material.getKey().toString(), material);
+        }
+
+        List<Condition> compiled = new ArrayList<>();
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection conditionSection = section.getConfigurationSection(name);
+            if (conditionSection == null || !conditionSection.getBoolean("enabled", true)) {
+                continue;
+            }
+
+            Set<Material> blocks = EnumSet.noneOf(Material.class);
+            for (String id : conditionSection.getStringList("blocks")) {
+                Material material = materialsById.get(id.contains(":") ? id : "minecraft:" + id);
+                if (material != null) {
+                    blocks.add(material);
+                } else {
+                    plugin.getLogger().fine("環境条件 '" + name + "' のブロックがこのサーバーに存在しません: " + id);
+                }
+            }
+            if (blocks.isEmpty()) {
+                continue;
+            }
+
+            boolean above = !"below".equalsIgnoreCase(conditionSection.getString("direction", "above"));
+            int range = Math.max(1, conditionSection.getInt("range", 32));
+            String weatherKey = conditionSection.getString("weather");
+            Weather weather = weatherKey != null ? Weather.fromConfigKey(weatherKey) : null;
+            if (weatherKey != null && weather == null) {
+                plugin.getLogger().warning("環境条件 '" + name + "' の天気が不正です: " + weatherKey);
+            }
+            double luck = conditionSection.getDouble("luck", 0.0);
+
+            compiled.add(new Condition(name, blocks, above, range, weather, luck));
+        }
+        return compiled;
+    }
+
+    /**
+     * 環境条件の効果
+     *
+     * @param weather 上書きする天気（上書きしない場合はnull）
+     * @param luck    追加する幸運値
+     */
+    public record EnvironmentEffect(Weather weather, double luck) {
+
+        public static final EnvironmentEffect NONE = new EnvironmentEffect(null, 0.0);
+
+        /**
+         * 天気の上書きを適用する
+         *
+         * @param current 現在の天気
+         * @return 上書き後の天気
+         */
+        public Weather applyTo(Weather current) {
+            return weather != null ? weather : current;
+        }
+    }
+
+    private record Condition(String name, Set<Material> blocks, boolean above, int range, Weather weather, double luck) {
+    }
+}
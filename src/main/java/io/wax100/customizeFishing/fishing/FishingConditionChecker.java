@@ -1,29 +1,55 @@
 package io.wax100.customizeFishing.fishing;
 
-import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.block.Block;
+import org.bukkit.World;
+
+import java.util.EnumSet;
+import java.util.Set;
 
 public class FishingConditionChecker {
 
-    public static boolean isOpenWater(Location hookLocation) {
-        for (int x = -2; x <= 2; x++) {
-            for (int y = -1; y <= 2; y++) {
-                for (int z = -2; z <= 2; z++) {
-                    if (x == 0 && y == 0 && z == 0) {
+    // 開水域の判定範囲（釣り針からの相対座標）
+    static final int RADIUS_XZ = 2;
+    static final int MIN_DY = -1;
+    static final int MAX_DY = 2;
+
+    // 開水域を妨げないブロック
+    private static final Set<Material> OPEN_WATER_BLOCKS = EnumSet.of(
+            Material.WATER,
+            Material.AIR,
+            Material.LILY_PAD,
+            Material.SEAGRASS,
+            Material.TALL_SEAGRASS,
+            Material.KELP,
+            Material.KELP_PLANT
+    );
+
+    /**
+     * 釣り針の周囲 5x4x5 が開水域かどうかを判定する。
+     * 読み込まれていないチャンクは同期読み込みせず、判定不能として扱う。
+     *
+     * @param world 釣り針のワールド
+     * @param hookX 釣り針のブロックX座標
+     * @param hookY 釣り針のブロックY座標
+     * @param hookZ 釣り針のブロックZ座標
+     * @return 開水域ならtrue、そうでなければfalse、範囲内に未読み込みのチャンクがある場合はnull
+     */
+    static Boolean evaluateOpenWater(World world, int hookX, int hookY, int hookZ) {
+        if (world == null) {
+            return null;
+        }
+
+        for (int x = hookX - RADIUS_XZ; x <= hookX + RADIUS_XZ; x++) {
+            for (int z = hookZ - RADIUS_XZ; z <= hookZ + RADIUS_XZ; z++) {
+                if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+                    return null;
+                }
+                for (int y = hookY + MIN_DY; y <= hookY + MAX_DY; y++) {
+                    if (x == hookX && y == hookY && z == hookZ) {
                         continue;
                     }
 
-                    Block block = hookLocation.clone().add(x, y, z).getBlock();
-                    Material type = block.getType();
-
-                    if (!type.equals(Material.WATER) &&
-                            !type.equals(Material.AIR) &&
-                            !type.equals(Material.LILY_PAD) &&
-                            !type.equals(Material.SEAGRASS) &&
-                            !type.equals(Material.TALL_SEAGRASS) &&
-                            !type.equals(Material.KELP) &&
-                            !type.equals(Material.KELP_PLANT)) {
+                    if (!OPEN_WATER_BLOCKS.contains(world.getBlockAt(x, y, z).getType())) {
                         return false;
                     }
                 }
@@ -32,4 +58,4 @@ public class FishingConditionChecker {
 
         return true;
     }
-}
\ No newline at end of file
+}
@@ -4,13 +4,16 @@ import de.tr7zw.changeme.nbtapi.NBTCompound;
 import de.tr7zw.changeme.nbtapi.NBTItem;
 import io.wax100.customizeFishing.CustomizeFishing;
 import io.wax100.customizeFishing.binding.BindingCurseManager;
-import io.wax100.customizeFishing.debug.DebugFishingRod;
 import io.wax100.customizeFishing.debug.DebugLogger;
 import io.wax100.customizeFishing.enchant.EnchantLimiter;
 import io.wax100.customizeFishing.enums.Weather;
+import io.wax100.customizeFishing.item.ItemFinalizationPipeline;
+import io.wax100.customizeFishing.item.ItemFinalizer;
+import io.wax100.customizeFishing.item.ItemInspection;
 import io.wax100.customizeFishing.luck.LuckResult;
 import io.wax100.customizeFishing.timing.TimingResult;
 import io.wax100.customizeFishing.unique.UniqueItemManager;
+import io.wax100.customizeFishing.unique.UniqueLootSampler;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -19,27 +22,13 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.loot.LootContext;
 import org.bukkit.loot.LootTable;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.potion.PotionEffectType;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 import java.util.logging.Level;
 
-/**
- * 釣り条件のキャッシュ
- */
-record FishingConditionsCache(
-        LuckResult luckResult,
-        boolean isOpenWater,
-        Weather weather,
-        boolean hasDolphinsGrace,
-        Location hookLocation
-) {
-}
-
 /**
  * ユニークアイテム処理の結果
  */
@@ -57,6 +46,8 @@ public class FishingProcessor {
     private final CategorySelector categorySelector;
     private final ProbabilityCalculator probabilityCalculator;
     private final EnchantLimiter enchantLimiter;
+    private final UniqueLootSampler uniqueLootSampler;
+    private final ItemFinalizationPipeline finalizationPipeline;
     private final Random random;
 
     public FishingProcessor(CustomizeFishing plugin, DebugLogger debugLogger, BindingCurseManager bindingCurseManager, CategorySelector categorySelector, ProbabilityCalculator probabilityCalculator, EnchantLimiter enchantLimiter) {
@@ -66,6 +57,15 @@ public class FishingProcessor {
         this.categorySelector = categorySelector;
         this.probabilityCalculator = probabilityCalculator;
         this.enchantLimiter = enchantLimiter;
+        this.uniqueLootSampler = new UniqueLootSampler(plugin.getUniqueItemManager());
+        UniqueItemManager uniqueItemManager = plugin.getUniqueItemManager();
+        // 釣果アイテムの仕上げ処理（宣言順に実行し、最後に1回だけ書き戻す）
+        this.finalizationPipeline = new ItemFinalizationPipeline(List.of(
+                new ItemFinalizer("player_head", PlayerHeadProcessor::appliesTo, PlayerHeadProcessor::processPlayerHead),
+                new ItemFinalizer("unique_lore", uniqueItemManager::hasUniqueId, uniqueItemManager::addUniqueLore),
+                new ItemFinalizer("enchant_limits", enchantLimiter::appliesTo, enchantLimiter::clampItemEnchants),
+                new ItemFinalizer("binding_owner", bindingCurseManager::appliesTo, bindingCurseManager::setItemOwner)
+        ));
         this.random = new Random();
     }
 
@@ -73,6 +73,7 @@ public class FishingProcessor {
      * 釣り処理を実行し、結果を返す
      *
      * @param player               プレイヤー
+     * @param state                釣り上げた時点のプレイヤーの状態
      * @param itemEntity           アイテムエンティティ
      * @param hookLocation         釣り針の位置
      * @param isDoubleFishingBonus ダブルフィッシングのボーナスかどうか
@@ -82,33 +83,17 @@ public class FishingProcessor {
      * @param weather              天気
      * @return 釣り結果
      */
-    public FishingResult processFishing(Player player, Item itemEntity, Location hookLocation, boolean isDoubleFishingBonus, TimingResult timingResult, LuckResult luckResult, boolean isOpenWater, Weather weather) {
-
-        boolean hasDolphinsGrace = player.hasPotionEffect(PotionEffectType.DOLPHINS_GRACE);
-
-        // 釣り条件をキャッシュ
-        FishingConditionsCache conditionsCache = new FishingConditionsCache(
-                luckResult,
-                isOpenWater,
-                weather,
-                hasDolphinsGrace,
-                hookLocation
-        );
+    public FishingResult processFishing(Player player, PlayerStateSnapshot state, Item itemEntity, Location hookLocation, boolean isDoubleFishingBonus, TimingResult timingResult, LuckResult luckResult, boolean isOpenWater, Weather weather) {
 
         if (isDoubleFishingBonus) {
             debugLogger.logInfo(player, "=== DOUBLE FISHING: BONUS FISHING PROCESS ===");
         }
-        String forcedCategory = null;
-        ItemStack mainHand = player.getInventory().getItemInMainHand();
-        if (DebugFishingRod.isDebugRod(plugin, mainHand)) {
-            forcedCategory = DebugFishingRod.getForcedCategory(plugin, mainHand);
-            debugLogger.logFishingStart(player, isOpenWater, weather, hasDolphinsGrace, forcedCategory);
-        } else {
-            debugLogger.logFishingStart(player, isOpenWater, weather, hasDolphinsGrace, null);
-        }
+        // デバッグ釣り竿の判定は浮きを投げた時点の竿プロファイルから行う
+        String forcedCategory = state.rodProfile().forcedCategory();
+        debugLogger.logFishingStart(player, isOpenWater, weather, state.dolphinsGrace(), forcedCategory);
 
-        String category = forcedCategory != null ? forcedCategory : categorySelector.determineCategoryFromConfig(player, luckResult, isOpenWater, weather, hasDolphinsGrace);
-        int eligibleCount = categorySelector.getEligibleCategoryCount(luckResult, isOpenWater, weather, hasDolphinsGrace);
+        String category = forcedCategory != null ? forcedCategory : categorySelector.determineCategoryFromConfig(player, luckResult, isOpenWater, weather, state);
+        int eligibleCount = categorySelector.getEligibleCategoryCount(luckResult, isOpenWater, weather, state);
 
         // 適格なカテゴリが無い場合はバニラの結果を使用
         if (category == null) {
@@ -135,15 +120,11 @@ public class FishingProcessor {
                     selectedItem = loot.iterator().next();
 
                     if (selectedItem != null && selectedItem.getType() != Material.AIR && selectedItem.getAmount() > 0) {
-                        selectedItem = PlayerHeadProcessor.processPlayerHead(selectedItem, player, category);
-
-                        UniqueProcessingResult result = handleUniqueItemProcessing(selectedItem, player, category, conditionsCache);
+                        UniqueProcessingResult result = handleUniqueItemProcessing(selectedItem, player, category, lootTableKey, lootTable, lootContext);
                         selectedItem = result.item();
                         category = result.category();
 
-                        selectedItem = enchantLimiter.clampItemEnchants(selectedItem);
-
-                        bindingCurseManager.setItemOwner(selectedItem, player);
+                        selectedItem = finalizationPipeline.finalizeItem(selectedItem, player, category);
                         itemEntity.setItemStack(selectedItem);
 
                         debugLogger.logItemReplacement(
@@ -182,12 +163,7 @@ public class FishingProcessor {
      * @return 表示名
      */
     private String getItemDisplayName(ItemStack item) {
-        if (item == null) return "null";
-        String displayName = item.getType().name().toLowerCase().replace("_", " ");
-        if (item.hasItemMeta() && Objects.requireNonNull(item.getItemMeta()).hasDisplayName()) {
-            displayName = item.getItemMeta().getDisplayName();
-        }
-        return displayName + " x" + item.getAmount();
+        return ItemInspection.of(item).displayName();
     }
 
     /**
@@ -196,21 +172,25 @@ public class FishingProcessor {
      * @param selectedItem     選択されたアイテム
      * @param player           プレイヤー
      * @param originalCategory 元のカテゴリ
-     * @param conditionsCache  キャッシュされた釣り条件
+     * @param lootTableKey     抽選したルートテーブルのキー
+     * @param lootTable        抽選したルートテーブル
+     * @param lootContext      抽選に使ったLootContext
      * @return 処理後のアイテムとカテゴリ
      */
-    private UniqueProcessingResult handleUniqueItemProcessing(ItemStack selectedItem, Player player, String originalCategory, FishingConditionsCache conditionsCache) {
+    private UniqueProcessingResult handleUniqueItemProcessing(ItemStack selectedItem, Player player, String originalCategory, NamespacedKey lootTableKey, LootTable lootTable, LootContext lootContext) {
         // NBTタグからPersistentDataContainerに変換
-        selectedItem = convertNbtToPersistentData(selectedItem);
+        selectedItem = convertNbtToPersistentData(selectedItem, lootTableKey);
 
         UniqueItemManager uniqueItemManager = plugin.getUniqueItemManager();
-        debugLogger.logInfo(player, "[UNIQUE-DEBUG] Processing item, isUnique: " + uniqueItemManager.isUniqueItem(selectedItem));
+        ItemInspection inspection = ItemInspection.of(selectedItem);
+        boolean isUnique = uniqueItemManager.isUniqueItem(inspection);
+        debugLogger.logInfo(player, "[UNIQUE-DEBUG] Processing item, isUnique: " + isUnique);
 
-        if (!uniqueItemManager.isUniqueItem(selectedItem)) {
+        if (!isUnique) {
             return new UniqueProcessingResult(selectedItem, originalCategory);
         }
 
-        String uniqueId = uniqueItemManager.getUniqueId(selectedItem);
+        String uniqueId = uniqueItemManager.getUniqueId(inspection);
         debugLogger.logInfo(player, "[UNIQUE-DEBUG] Unique ID: " + uniqueId);
 
         if (uniqueId == null) {
@@ -222,12 +202,11 @@ public class FishingProcessor {
         debugLogger.logInfo(player, "[UNIQUE-DEBUG] Item " + uniqueId + " already caught: " + alreadyCaught);
 
         if (alreadyCaught) {
-            debugLogger.logInfo(player, "[UNIQUE-DEBUG] Starting re-roll for " + uniqueId);
-            return performFullReFishing(player, conditionsCache, 1);
+            debugLogger.logInfo(player, "[UNIQUE-DEBUG] Re-drawing " + lootTableKey + " excluding caught uniques");
+            return rerollExcludingCaught(player, originalCategory, lootTableKey, lootTable, lootContext);
         } else {
             uniqueItemManager.markItemAsCaught(player.getWorld(), uniqueId, player);
             debugLogger.logInfo(player, "[UNIQUE-DEBUG] Successfully marked item as caught: " + uniqueId);
-            selectedItem = uniqueItemManager.addUniqueLore(selectedItem, player.getWorld(), player);
             return new UniqueProcessingResult(selectedItem, originalCategory);
         }
     }
@@ -235,69 +214,58 @@ public class FishingProcessor {
 
     /**
      * NBTタグからPersistentDataContainerにユニーク情報を変換する
+     * ユニーク索引上マーカーを持ち得ないアイテムはNBTを読まずにそのまま返す
      *
-     * @param item 変換対象のアイテム
+     * @param item         変換対象のアイテム
+     * @param lootTableKey アイテムを抽選したルートテーブルのキー
      * @return 変換後のアイテム
      */
-    private ItemStack convertNbtToPersistentData(ItemStack item) {
+    ItemStack convertNbtToPersistentData(ItemStack item, NamespacedKey lootTableKey) {
         if (item == null || !item.hasItemMeta()) {
             return item;
         }
+        if (!plugin.getUniqueLootIndex().mayCarryUniqueMarker(lootTableKey, item.getType())) {
+            return item;
+        }
 
         // PersistentDataContainerに既にデータがある場合はスキップ
-        var meta = item.getItemMeta();
-        if (meta != null) {
-            PersistentDataContainer container = meta.getPersistentDataContainer();
-            NamespacedKey uniqueKey = new NamespacedKey(plugin, "unique");
-            if (container.has(uniqueKey, PersistentDataType.BYTE)) {
-                return item; // 既に変換済み
-            }
+        UniqueItemManager uniqueItemManager = plugin.getUniqueItemManager();
+        var meta = ItemInspection.of(item).meta();
+        if (meta == null || uniqueItemManager.hasUniqueMarker(meta)) {
+            return item; // 既に変換済み
         }
 
         try {
             // NBT-APIを使用してNBTデータに直接アクセス
             NBTItem nbtItem = new NBTItem(item);
-            debugLogger.logInfo(null, "[NBT-CONVERT] Item type: " + item.getType() + ", NBT keys: " + nbtItem.getKeys());
-
-            // customizefishingタグが存在するかチェック
-            if (nbtItem.getKeys().contains("customizefishing")) {
-                NBTCompound customizeFishingTag = nbtItem.getCompound("customizefishing");
-                debugLogger.logInfo(null, "[NBT-CONVERT] Found customizefishing tag with keys: " + customizeFishingTag.getKeys());
-
-                // uniqueタグとunique_idタグをチェック
-                if (customizeFishingTag.getKeys().contains("unique") && customizeFishingTag.getKeys().contains("unique_id")) {
-                    byte uniqueFlag = customizeFishingTag.getByte("unique");
-                    String uniqueId = customizeFishingTag.getString("unique_id");
-
-                    debugLogger.logInfo(null, "[NBT-API] Found unique flag: " + uniqueFlag + ", unique_id: " + uniqueId);
+            NBTCompound customizeFishingTag = nbtItem.getCompound("customizefishing");
+            if (customizeFishingTag == null) {
+                debugLogger.logInfo(null, "[NBT-CONVERT] No customizefishing key found in NBT: " + item.getType());
+                return item;
+            }
 
-                    if (uniqueFlag == 1 && uniqueId != null && !uniqueId.isEmpty()) {
-                        debugLogger.logInfo(null, "[NBT-API] Processing unique item with ID: " + uniqueId);
+            // uniqueタグとunique_idタグをチェック
+            if (!customizeFishingTag.hasTag("unique") || !customizeFishingTag.hasTag("unique_id")) {
+                debugLogger.logInfo(null, "[NBT-CONVERT] Missing required keys. Available: " + customizeFishingTag.getKeys());
+                return item;
+            }
 
-                        // PersistentDataContainerに設定
-                        if (meta != null) {
-                            PersistentDataContainer container = meta.getPersistentDataContainer();
-                            NamespacedKey uniqueKey = new NamespacedKey(plugin, "unique");
-                            NamespacedKey uniqueIdKey = new NamespacedKey(plugin, "unique_id");
+            byte uniqueFlag = customizeFishingTag.getByte("unique");
+            String uniqueId = customizeFishingTag.getString("unique_id");
+            debugLogger.logInfo(null, "[NBT-API] Found unique flag: " + uniqueFlag + ", unique_id: " + uniqueId);
 
-                            container.set(uniqueKey, PersistentDataType.BYTE, uniqueFlag);
-                            container.set(uniqueIdKey, PersistentDataType.STRING, uniqueId);
+            if (uniqueFlag == 1 && uniqueId != null && !uniqueId.isEmpty()) {
+                // PersistentDataContainerに設定
+                uniqueItemManager.setUniqueMarker(meta, uniqueId);
 
-                            // NBTタグを削除（PersistentDataContainerに移行したため）
-                            nbtItem.removeKey("customizefishing");
+                // NBTタグを削除（PersistentDataContainerに移行したため）
+                nbtItem.removeKey("customizefishing");
 
-                            // 変更を適用
-                            item = nbtItem.getItem();
-                            item.setItemMeta(meta);
+                // 変更を適用
+                item = nbtItem.getItem();
+                item.setItemMeta(meta);
 
-                            debugLogger.logInfo(null, "[NBT-CONVERT] Successfully converted NBT to PersistentData for unique_id: " + uniqueId);
-                        }
-                    }
-                } else {
-                    debugLogger.logInfo(null, "[NBT-CONVERT] Missing required keys. Available: " + customizeFishingTag.getKeys());
-                }
-            } else {
-                debugLogger.logInfo(null, "[NBT-CONVERT] No customizefishing key found in NBT");
+                debugLogger.logInfo(null, "[NBT-CONVERT] Successfully converted NBT to PersistentData for unique_id: " + uniqueId);
             }
         } catch (Exception e) {
             debugLogger.logInfo(null, "[NBT-API] Error during NBT conversion: " + e.getMessage());
@@ -308,83 +276,54 @@ public class FishingProcessor {
     }
 
     /**
-     * 完全な釣り処理を再実行（キャッシュされた条件を使用）
+     * 釣獲済みユニークを除外して同じルートテーブルから引き直す
+     * 同じテーブル・同じLootContextで釣獲済みユニークのみを棄却するため、
+     * 結果は残りのエントリの重みを正規化し直した分布と一致する。
+     * 抽選可能なエントリが無い、または試行上限に達した場合はcommonにフォールバック
      *
-     * @param player          プレイヤー
-     * @param conditionsCache キャッシュされた釣り条件
-     * @param rerollCount     再抽選回数
+     * @param player       プレイヤー
+     * @param category     カテゴリ
+     * @param lootTableKey ルートテーブルのキー
+     * @param lootTable    ルートテーブル
+     * @param lootContext  最初の抽選に使ったLootContext
      * @return 釣り結果のアイテムとカテゴリ
      */
-    private UniqueProcessingResult performFullReFishing(Player player, FishingConditionsCache conditionsCache, int rerollCount) {
-        final int MAX_REROLLS = 3;
-
-        if (rerollCount > MAX_REROLLS) {
-            debugLogger.logInfo(player, "[CACHED-REROLL] Max re-roll attempts reached, forcing common fallback");
-            // LootContextを再作成してcommonから取得
-            LootContext commonContext = createLootContext(player, conditionsCache);
-            ItemStack fallbackItem = getItemFromCategory("common", player, commonContext);
-            return new UniqueProcessingResult(fallbackItem, "common");
-        }
+    private UniqueProcessingResult rerollExcludingCaught(Player player, String category, NamespacedKey lootTableKey, LootTable lootTable, LootContext lootContext) {
+        UniqueItemManager uniqueItemManager = plugin.getUniqueItemManager();
+        UniqueLootSampler.SamplingPlan plan = uniqueLootSampler.plan(
+                plugin.getUniqueLootIndex().getTable(lootTableKey), player.getWorld(), lootContext.getLuck());
+        debugLogger.logInfo(player, "[UNIQUE-EXCLUDE] " + lootTableKey + " exhausted=" + plan.exhausted()
+                + ", maxAttempts=" + plan.maxAttempts() + ", rejectProbability=" + plan.rejectProbability());
+
+        for (int attempt = 1; !plan.exhausted() && attempt <= plan.maxAttempts(); attempt++) {
+            Collection<ItemStack> loot = lootTable.populateLoot(random, lootContext);
+            if (loot.isEmpty()) {
+                continue;
+            }
+            ItemStack newItem = loot.iterator().next();
+            if (newItem == null || newItem.getType() == Material.AIR || newItem.getAmount() <= 0) {
+                continue;
+            }
 
-        debugLogger.logInfo(player, "[CACHED-REROLL] Attempt " + rerollCount + " - Using cached fishing conditions");
+            newItem = convertNbtToPersistentData(newItem, lootTableKey);
+            ItemInspection inspection = ItemInspection.of(newItem);
+            String uniqueId = uniqueItemManager.isUniqueItem(inspection) ? uniqueItemManager.getUniqueId(inspection) : null;
+            if (uniqueId != null && uniqueItemManager.isItemAlreadyCaught(player.getWorld(), uniqueId)) {
+                continue;
+            }
 
-        try {
-            // 1. キャッシュされた条件を使用（再計算不要）
-            debugLogger.logInfo(player, "[CACHED-REROLL] Using cached conditions: openWater=" +
-                    conditionsCache.isOpenWater() + ", weather=" + conditionsCache.weather() +
-                    ", dolphins=" + conditionsCache.hasDolphinsGrace());
-
-            // 2. ティア選択を再実行（キャッシュされたLuckResultを使用）
-            String newCategory = categorySelector.determineCategoryFromConfig(
-                    player,
-                    conditionsCache.luckResult(),
-                    conditionsCache.isOpenWater(),
-                    conditionsCache.weather(),
-                    conditionsCache.hasDolphinsGrace()
-            );
-            debugLogger.logInfo(player, "[CACHED-REROLL] Re-selected category: " + newCategory);
-
-            // 3. 新しいloot_tableから抽選
-            LootContext lootContext = createLootContext(player, conditionsCache);
-            ItemStack newItem = getItemFromCategory(newCategory, player, lootContext);
-
-            // 4. NBT変換とユニーク判定
-            newItem = convertNbtToPersistentData(newItem);
-            newItem = PlayerHeadProcessor.processPlayerHead(newItem, player, newCategory);
-
-            UniqueItemManager uniqueItemManager = plugin.getUniqueItemManager();
-            if (uniqueItemManager.isUniqueItem(newItem)) {
-                String uniqueId = uniqueItemManager.getUniqueId(newItem);
-                if (uniqueId != null && uniqueItemManager.isItemAlreadyCaught(player.getWorld(), uniqueId)) {
-                    debugLogger.logInfo(player, "[CACHED-REROLL] Re-rolled item " + uniqueId + " also already caught, re-rolling again");
-                    return performFullReFishing(player, conditionsCache, rerollCount + 1);
-                } else if (uniqueId != null) {
-                    // 新しいユニークアイテム
-                    uniqueItemManager.markItemAsCaught(player.getWorld(), uniqueId, player);
-                    newItem = uniqueItemManager.addUniqueLore(newItem, player.getWorld(), player);
-                    debugLogger.logInfo(player, "[CACHED-REROLL] Successfully got new unique item: " + uniqueId);
-                }
+            if (uniqueId != null) {
+                uniqueItemManager.markItemAsCaught(player.getWorld(), uniqueId, player);
+                debugLogger.logInfo(player, "[UNIQUE-EXCLUDE] Attempt " + attempt + " got new unique item: " + uniqueId);
             } else {
-                debugLogger.logInfo(player, "[CACHED-REROLL] Successfully got non-unique item: " + newItem.getType());
+                debugLogger.logInfo(player, "[UNIQUE-EXCLUDE] Attempt " + attempt + " got non-unique item: " + newItem.getType());
             }
-
-            return new UniqueProcessingResult(newItem, newCategory);
-
-        } catch (Exception e) {
-            debugLogger.logInfo(player, "[CACHED-REROLL] Error during cached re-fishing: " + e.getMessage());
-            return performFullReFishing(player, conditionsCache, rerollCount + 1);
+            return new UniqueProcessingResult(newItem, category);
         }
-    }
 
-    /**
-     * キャッシュされた条件からLootContextを作成
-     *
-     * @param player          プレイヤー
-     * @param conditionsCache キャッシュされた条件
-     * @return LootContext
-     */
-    private LootContext createLootContext(Player player, FishingConditionsCache conditionsCache) {
-        return createLootContext(player, conditionsCache.hookLocation(), conditionsCache.luckResult(), null);
+        debugLogger.logInfo(player, "[UNIQUE-EXCLUDE] No available entry left in " + lootTableKey + ", forcing common fallback");
+        ItemStack fallbackItem = getItemFromCategory("common", player, lootContext);
+        return new UniqueProcessingResult(fallbackItem, "common");
     }
 
     /**
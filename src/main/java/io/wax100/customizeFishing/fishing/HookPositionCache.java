@@ -0,0 +1,176 @@
+package io.wax100.customizeFishing.fishing;
+
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 釣り針のブロック位置ごとの判定結果のキャッシュ（{@link OpenWaterCache} と {@link EnvironmentConditions} で共通）。
+ * <p>
+ * 放置釣りでは同じ位置に釣り針が落ち続けるため、判定結果を位置ごとにアクセス順のLRUで保持する。
+ * ブロック変化のイベントは頻繁に発火するため、キャッシュを列の区画（x, z を regionShift ビット右シフトした単位）でも索引し、
+ * キャッシュの無い区画の変化はハッシュ参照だけで除外する。
+ * ピストンなどイベントで捕捉しきれない変化に備えて、最大保持時間を過ぎた判定結果は使わない。
+ *
+ * @param <V> 判定結果の型
+ */
+public class HookPositionCache<V> {
+
+    private final int maxEntries;
+    private final long maxAgeMillis;
+    private final int regionShift;
+    // 釣り針の位置 → 判定結果（アクセス順のLRU）
+    private final Map<BlockKey, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BlockKey, Entry<V>> eldest) {
+            if (size() > maxEntries) {
+                unindex(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+    // 区画 → その区画にある釣り針の位置
+    private final Map<RegionKey, Set<BlockKey>> entriesByRegion = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxEntries   保持する位置の上限
+     * @param maxAgeMillis 判定結果の最大保持時間（ミリ秒）
+     * @param regionShift  索引の区画の大きさ（0なら列ごと、4ならチャンクごと）
+     */
+    public HookPositionCache(int maxEntries, long maxAgeMillis, int regionShift) {
+        this.maxEntries = maxEntries;
+        this.maxAgeMillis = maxAgeMillis;
+        this.regionShift = regionShift;
+    }
+
+    /**
+     * キャッシュ済みの判定結果を取得する。無い・古い場合は判定してキャッシュする
+     *
+     * @param world   ワールド
+     * @param x       釣り針のブロックX座標
+     * @param y       釣り針のブロックY座標
+     * @param z       釣り針のブロックZ座標
+     * @param compute キャッシュミス時の判定処理（nullを返した場合はキャッシュしない）
+     * @return 判定結果
+     */
+    public V get(World world, int x, int y, int z, Supplier<V> compute) {
+        BlockKey key = new BlockKey(world.getUID(), x, y, z);
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.evaluatedAt() < maxAgeMillis) {
+            hits++;
+            return entry.value();
+        }
+
+        misses++;
+        V value = compute.get();
+        if (value != null) {
+            entries.put(key, new Entry<>(value, now));
+            entriesByRegion.computeIfAbsent(region(key), k -> new HashSet<>()).add(key);
+        }
+        return value;
+    }
+
+    /**
+     * 範囲内の釣り針の位置の判定結果を破棄する
+     *
+     * @param worldId ワールドのUUID
+     * @param minX    X座標の下限
+     * @param maxX    X座標の上限
+     * @param minY    Y座標の下限
+     * @param maxY    Y座標の上限
+     * @param minZ    Z座標の下限
+     * @param maxZ    Z座標の上限
+     */
+    public void invalidate(UUID worldId, int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+        if (entriesByRegion.isEmpty()) {
+            return;
+        }
+
+        for (int regionX = minX >> regionShift; regionX <= maxX >> regionShift; regionX++) {
+            for (int regionZ = minZ >> regionShift; regionZ <= maxZ >> regionShift; regionZ++) {
+                RegionKey regionKey = new RegionKey(worldId, regionX, regionZ);
+                Set<BlockKey> keys = entriesByRegion.get(regionKey);
+                if (keys == null) {
+                    continue;
+                }
+
+                Iterator<BlockKey> iterator = keys.iterator();
+                while (iterator.hasNext()) {
+                    BlockKey key = iterator.next();
+                    if (key.x() >= minX && key.x() <= maxX
+                            && key.y() >= minY && key.y() <= maxY
+                            && key.z() >= minZ && key.z() <= maxZ) {
+                        entries.remove(key);
+                        iterator.remove();
+                    }
+                }
+                if (keys.isEmpty()) {
+                    entriesByRegion.remove(regionKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * すべての判定結果を破棄する
+     */
+    public void clear() {
+        entries.clear();
+        entriesByRegion.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * キャッシュヒット率（0.0〜1.0）
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private RegionKey region(BlockKey key) {
+        return new RegionKey(key.world(), key.x() >> regionShift, key.z() >> regionShift);
+    }
+
+    private void unindex(BlockKey key) {
+        RegionKey regionKey = region(key);
+        Set<BlockKey> keys = entriesByRegion.get(regionKey);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                entriesByRegion.remove(regionKey);
+            }
+        }
+    }
+
+    private record BlockKey(UUID world, int x, int y, int z) {
+    }
+
+    private record RegionKey(UUID world, int x, int z) {
+    }
+
+    private record Entry<V>(V value, long evaluatedAt) {
+    }
+}
@@ -0,0 +1,86 @@
+package io.wax100.customizeFishing.fishing;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * 釣り針のブロック位置ごとの開水域判定のキャッシュ。
+ * <p>
+ * 放置釣りでは同じ位置に釣り針が落ち続けるため、判定結果を位置ごとに保持し、
+ * 判定範囲（5x4x5）内のブロックが変化したときだけ破棄する。
+ * ブロック変化のイベントは頻繁に発火するため、キャッシュをチャンク単位でも索引し、
+ * キャッシュの無いチャンクの変化はハッシュ参照だけで除外する（{@link HookPositionCache}）。
+ */
+public class OpenWaterCache {
+
+    private static final int MAX_ENTRIES = 1024;
+    // ピストンなどイベントで捕捉しきれない変化に備えた最大保持時間
+    private static final long MAX_AGE_MILLIS = 60_000L;
+    // チャンク（16x16）単位で索引する
+    private static final int CHUNK_SHIFT = 4;
+
+    private final HookPositionCache<Boolean> cache = new HookPositionCache<>(MAX_ENTRIES, MAX_AGE_MILLIS, CHUNK_SHIFT);
+
+    /**
+     * 釣り針の位置が開水域かどうか（キャッシュ済みならブロックを読まない）
+     *
+     * @param hookLocation 釣り針の位置
+     * @return 開水域の場合true
+     */
+    public boolean isOpenWater(Location hookLocation) {
+        World world = hookLocation.getWorld();
+        if (world == null) {
+            return false;
+        }
+
+        int x = hookLocation.getBlockX();
+        int y = hookLocation.getBlockY();
+        int z = hookLocation.getBlockZ();
+        // 範囲内に未読み込みのチャンクがある場合（null）は開水域とみなさず、キャッシュもしない
+        Boolean openWater = cache.get(world, x, y, z, () -> FishingConditionChecker.evaluateOpenWater(world, x, y, z));
+        return Boolean.TRUE.equals(openWater);
+    }
+
+    /**
+     * ブロックの変化を判定範囲に含む釣り針の位置のキャッシュを破棄する
+     *
+     * @param block 変化したブロック
+     */
+    public void invalidate(Block block) {
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        // 判定範囲がこのブロックを含む釣り針は、x±2・z±2 で、このブロックより MIN_DY〜MAX_DY 下にある
+        cache.invalidate(block.getWorld().getUID(),
+                x - FishingConditionChecker.RADIUS_XZ, x + FishingConditionChecker.RADIUS_XZ,
+                y - FishingConditionChecker.MAX_DY, y - FishingConditionChecker.MIN_DY,
+                z - FishingConditionChecker.RADIUS_XZ, z + FishingConditionChecker.RADIUS_XZ);
+    }
+
+    /**
+     * すべてのキャッシュを破棄する
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    /**
+     * キャッシュヒット率（0.0〜1.0）
+     */
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+}
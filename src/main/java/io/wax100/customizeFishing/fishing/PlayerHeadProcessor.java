@@ -1,37 +1,35 @@
 package io.wax100.customizeFishing.fishing;
 
+import io.wax100.customizeFishing.item.ItemFinalization;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
 
-public class PlayerHeadProcessor {
-
-    public static ItemStack processPlayerHead(ItemStack item, Player player, String category) {
-        // イルカの好意カテゴリでプレイヤーヘッドの場合のみ処理
-        if (!category.equals("dolphins_grace") || item.getType() != Material.PLAYER_HEAD) {
-            return item;
-        }
+import java.util.List;
 
-        ItemStack playerHead = item.clone();
-        SkullMeta skullMeta = (SkullMeta) playerHead.getItemMeta();
+public class PlayerHeadProcessor {
 
-        if (skullMeta != null) {
-            // プレイヤーの頭に設定
-            skullMeta.setOwningPlayer(player);
+    /**
+     * イルカの好意カテゴリのプレイヤーヘッドかどうか
+     */
+    public static boolean appliesTo(ItemFinalization finalization) {
+        return "dolphins_grace".equals(finalization.category()) && finalization.item().getType() == Material.PLAYER_HEAD;
+    }
 
-            // 表示名を設定
-            String displayName = "§b§l" + player.getName() + "の頭";
-            skullMeta.setDisplayName(displayName);
+    public static void processPlayerHead(ItemFinalization finalization) {
+        if (!(finalization.meta() instanceof SkullMeta skullMeta)) {
+            return;
+        }
+        Player player = finalization.player();
 
-            // 説明文を追加
-            java.util.List<String> lore = new java.util.ArrayList<>();
-            lore.add("§7イルカが好意であなたの頭を持ってきてくれました。");
-            skullMeta.setLore(lore);
+        // プレイヤーの頭に設定
+        skullMeta.setOwningPlayer(player);
 
-            playerHead.setItemMeta(skullMeta);
-        }
+        // 表示名を設定
+        String displayName = "§b§l" + player.getName() + "の頭";
+        skullMeta.setDisplayName(displayName);
 
-        return playerHead;
+        // 説明文を設定
+        finalization.replaceLore(List.of("§7イルカが好意であなたの頭を持ってきてくれました。"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package io.wax100.customizeFishing.fishing;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * 釣り上げた時点のプレイヤーの状態。
+ * CAUGHT_FISH の開始時に1回だけ読み取り、カテゴリ選択・釣果処理・演出で共有する。
+ * Bukkit API を呼ばずに参照できるため、計算処理をメインスレッドから切り離す際の入力にもなる。
+ *
+ * @param playerName    プレイヤー名
+ * @param location      プレイヤーの位置（複製）
+ * @param bypass        customizefishing.bypass を持っているか
+ * @param dolphinsGrace イルカの好意エフェクトがあるか
+ * @param conduitLevel  コンジットパワーのレベル（無い場合は0）
+ * @param rodProfile    使用中の釣り竿のプロファイル
+ */
+public record PlayerStateSnapshot(
+        String playerName,
+        Location location,
+        boolean bypass,
+        boolean dolphinsGrace,
+        int conduitLevel,
+        RodProfile rodProfile
+) {
+
+    /**
+     * プレイヤーの状態を読み取る
+     *
+     * @param player     プレイヤー
+     * @param rodProfile 使用中の釣り竿のプロファイル
+     * @return スナップショット
+     */
+    public static PlayerStateSnapshot capture(Player player, RodProfile rodProfile) {
+        PotionEffect conduit = player.getPotionEffect(PotionEffectType.CONDUIT_POWER);
+        return new PlayerStateSnapshot(
+                player.getName(),
+                player.getLocation(),
+                player.hasPermission("customizefishing.bypass"),
+                player.hasPotionEffect(PotionEffectType.DOLPHINS_GRACE),
+                conduit != null ? conduit.getAmplifier() + 1 : 0,
+                rodProfile
+        );
+    }
+
+    /**
+     * 位置は変更可能なオブジェクトのため、複製を返す
+     */
+    @Override
+    public Location location() {
+        return location.clone();
+    }
+}
@@ -0,0 +1,27 @@
+package io.wax100.customizeFishing.fishing;
+
+import io.wax100.customizeFishing.enchant.EnchantLimiter;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * 1回のキャストで使用している釣り竿の情報。
+ * 浮きを投げた時点で1回だけ読み取り、釣り上げるまで各処理で共有する。
+ *
+ * @param rod                使用中の釣り竿（どちらの手にも無い場合はnull）
+ * @param lureLevel          入れ食いレベル
+ * @param luckLevel          宝釣りレベル
+ * @param debugRod           デバッグ釣り竿かどうか
+ * @param forcedCategory     デバッグ釣り竿の強制カテゴリ（デバッグ釣り竿以外はnull）
+ * @param legacyLegendaryRod 旧仕様（lure:127）の「伝説釣り竿?」かどうか
+ * @param hookTimings        浮きに設定する待ち時間（補正が不要な場合はnull）
+ */
+public record RodProfile(
+        ItemStack rod,
+        int lureLevel,
+        int luckLevel,
+        boolean debugRod,
+        String forcedCategory,
+        boolean legacyLegendaryRod,
+        EnchantLimiter.HookTimings hookTimings
+) {
+}
@@ -0,0 +1,106 @@
+package io.wax100.customizeFishing.fishing;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.debug.DebugFishingRod;
+import io.wax100.customizeFishing.enchant.EnchantLimiter;
+import io.wax100.customizeFishing.item.ItemInspection;
+import io.wax100.customizeFishing.migration.ItemMigrationListener;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * プレイヤーごとに、投げている浮きの釣り竿プロファイルを保持するクラス。
+ * <p>
+ * 浮きを投げた時点（FISHING）でプロファイルを作成し、浮きが消えるまで
+ * マイグレーション・入れ食い補正・デバッグ釣り竿・ダブルフィッシング判定で使い回す。
+ */
+public class RodProfiles {
+
+    private final CustomizeFishing plugin;
+    private final EnchantLimiter enchantLimiter;
+    private final Map<UUID, RodProfile> profiles = new HashMap<>();
+
+    public RodProfiles(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        this.enchantLimiter = new EnchantLimiter(plugin);
+    }
+
+    /**
+     * エンチャント上限の設定を読み直す
+     */
+    public void reload() {
+        enchantLimiter.reload();
+    }
+
+    /**
+     * 手に持っている釣り竿を読み取り、プロファイルを作成し直す
+     *
+     * @param player プレイヤー
+     * @return 作成したプロファイル
+     */
+    public RodProfile begin(Player player) {
+        RodProfile profile = createProfile(getFishingRod(player));
+        profiles.put(player.getUniqueId(), profile);
+        return profile;
+    }
+
+    /**
+     * 投げている浮きのプロファイルを取得する（無い場合は作成する）
+     *
+     * @param player プレイヤー
+     * @return プロファイル
+     */
+    public RodProfile get(Player player) {
+        RodProfile profile = profiles.get(player.getUniqueId());
+        return profile != null ? profile : begin(player);
+    }
+
+    /**
+     * 浮きが消えたときにプロファイルを破棄する
+     *
+     * @param player プレイヤー
+     */
+    public void end(Player player) {
+        profiles.remove(player.getUniqueId());
+    }
+
+    private RodProfile createProfile(ItemStack rod) {
+        if (rod == null) {
+            return new RodProfile(null, 0, 0, false, null, false, null);
+        }
+
+        ItemInspection inspection = ItemInspection.of(rod);
+        int lureLevel = rod.getEnchantmentLevel(Enchantment.LURE);
+        boolean debugRod = DebugFishingRod.isDebugRod(plugin, inspection);
+        return new RodProfile(
+                rod,
+                lureLevel,
+                rod.getEnchantmentLevel(Enchantment.LUCK),
+                debugRod,
+                debugRod ? DebugFishingRod.getForcedCategory(plugin, inspection) : null,
+                ItemMigrationListener.isLegacyLegendaryRod(inspection),
+                enchantLimiter.computeHookTimings(lureLevel)
+        );
+    }
+
+    /**
+     * プレイヤーが使用中の釣り竿を取得する（メインハンド優先、なければオフハンド）
+     */
+    private ItemStack getFishingRod(Player player) {
+        ItemStack mainHand = player.getInventory().getItemInMainHand();
+        if (mainHand.getType() == Material.FISHING_ROD) {
+            return mainHand;
+        }
+        ItemStack offHand = player.getInventory().getItemInOffHand();
+        if (offHand.getType() == Material.FISHING_ROD) {
+            return offHand;
+        }
+        return null;
+    }
+}
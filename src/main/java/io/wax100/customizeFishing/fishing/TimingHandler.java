@@ -2,9 +2,13 @@ package io.wax100.customizeFishing.fishing;
 
 import io.wax100.customizeFishing.CustomizeFishing;
 import io.wax100.customizeFishing.debug.DebugLogger;
+import io.wax100.customizeFishing.effects.EffectBudget;
 import io.wax100.customizeFishing.luck.LuckCalculator;
+import io.wax100.customizeFishing.timing.TickClock;
+import io.wax100.customizeFishing.timing.TimingHistogram;
 import io.wax100.customizeFishing.timing.TimingResult;
 import org.bukkit.Location;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.TextDisplay;
 
@@ -13,16 +17,39 @@ import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 浮きが沈んでから釣り上げるまでの反応時間を測るクラス。
+ * <p>
+ * 反応時間は System.nanoTime で測る。設定により、{@link TickClock} が累計した
+ * tick が 50ms を超えた分（サーバーの遅延）とプレイヤーのPingを差し引いて補正する。
+ * 判定したティアごとの反応時間は {@link TimingHistogram} に、プレイヤーごとの分布は
+ * {@link io.wax100.customizeFishing.timing.ReactionMonitor} に記録する。
+ */
 public class TimingHandler {
 
     private final CustomizeFishing plugin;
+    private final DebugLogger debugLogger;
     private final LuckCalculator luckCalculator;
     // Playerエンティティを直接キーにすると退出後も参照を保持してしまうためUUIDで管理する
-    private final Map<UUID, Long> biteTimestamps = new ConcurrentHashMap<>();
+    private final Map<UUID, BiteStamp> biteTimestamps = new ConcurrentHashMap<>();
+    // timing_system.compensation の設定
+    private boolean compensateTickLag;
+    private boolean compensatePing;
+    private long maxPingNanos;
 
     public TimingHandler(CustomizeFishing plugin, DebugLogger debugLogger) {
         this.plugin = plugin;
+        this.debugLogger = debugLogger;
         this.luckCalculator = new LuckCalculator(plugin, debugLogger);
+        loadCompensation();
+    }
+
+    /**
+     * 反応時間の補正とティア表の設定を読み直す
+     */
+    public void reload() {
+        loadCompensation();
+        luckCalculator.reload();
     }
 
     /**
@@ -31,7 +58,7 @@ public class TimingHandler {
      * @param player プレイヤー
      */
     public void recordBiteTimestamp(Player player) {
-        biteTimestamps.put(player.getUniqueId(), System.currentTimeMillis());
+        biteTimestamps.put(player.getUniqueId(), new BiteStamp(System.nanoTime(), plugin.getTickClock().getOverrunNanos()));
     }
 
     /**
@@ -41,13 +68,45 @@ public class TimingHandler {
      * @return タイミング結果
      */
     public TimingResult calculateTimingResult(Player player) {
-        Long biteTime = biteTimestamps.remove(player.getUniqueId());
-        if (biteTime == null) {
+        BiteStamp bite = biteTimestamps.remove(player.getUniqueId());
+        if (bite == null) {
             return TimingResult.miss();
         }
-        long reactionTime = System.currentTimeMillis() - biteTime;
 
-        return luckCalculator.calculateTimingResult(reactionTime);
+        long now = System.nanoTime();
+        long reactionNanos = now - bite.nanos();
+
+        long tickLagNanos = 0;
+        if (compensateTickLag) {
+            tickLagNanos = plugin.getTickClock().getOverrunNanos() - bite.overrunNanos();
+        }
+        long pingNanos = 0;
+        if (compensatePing) {
+            // 浮きが沈んだ通知と釣り上げの操作で1往復分の通信がかかる
+            pingNanos = Math.min(maxPingNanos, Math.max(0, player.getPing()) * 1_000_000L);
+        }
+        long compensatedNanos = Math.max(0, reactionNanos - tickLagNanos - pingNanos);
+
+        long reactionTimeMs = compensatedNanos / 1_000_000L;
+        TimingResult result = luckCalculator.calculateTimingResult(reactionTimeMs);
+        plugin.getTimingHistogram().record(result.hasTiming() ? result.tier().name() : TimingHistogram.MISS, reactionTimeMs);
+        if (plugin.getReactionMonitor().record(player, reactionTimeMs) && result.hasTiming()) {
+            // 自動クリックの疑いがある場合はティアの表示のみ残し、ボーナスは与えない
+            debugLogger.logInfo(player, " TIMING: bonus disabled (implausible reaction time distribution)");
+            result = TimingResult.success(result.tier(), reactionTimeMs, 0.0);
+        }
+        if (tickLagNanos > 0 || pingNanos > 0) {
+            debugLogger.logInfo(player, String.format(" TIMING: raw %.1fms - tick lag %.1fms - ping %.1fms",
+                    reactionNanos / 1_000_000.0, tickLagNanos / 1_000_000.0, pingNanos / 1_000_000.0));
+        }
+        return result;
+    }
+
+    private void loadCompensation() {
+        Configuration config = plugin.getConfig();
+        compensateTickLag = config.getBoolean("timing_system.compensation.tick_lag", false);
+        compensatePing = config.getBoolean("timing_system.compensation.ping", false);
+        maxPingNanos = config.getLong("timing_system.compensation.max_ping_ms", 150L) * 1_000_000L;
     }
 
     /**
@@ -61,6 +120,11 @@ public class TimingHandler {
             return;
         }
 
+        // テキストディスプレイの生成は負荷に応じて延期・省略する
+        plugin.getEffectBudget().run(EffectBudget.Stage.TIMING_DISPLAY, () -> spawnTimingDisplay(hookLocation, timingResult));
+    }
+
+    private void spawnTimingDisplay(Location hookLocation, TimingResult timingResult) {
         String timingText = formatTimingText(timingResult);
 
         TextDisplay textDisplay = Objects.requireNonNull(hookLocation.getWorld()).spawn(
@@ -71,11 +135,11 @@ public class TimingHandler {
         textDisplay.setText(timingText);
         textDisplay.setBillboard(TextDisplay.Billboard.CENTER);
 
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+        plugin.getTimingWheel().schedule(60L, () -> {
             if (!textDisplay.isDead()) {
                 textDisplay.remove();
             }
-        }, 60L);
+        });
     }
 
     /**
@@ -95,4 +159,7 @@ public class TimingHandler {
 
         return tierName + "\n§f" + timingResult.reactionTimeMs() + "ms";
     }
+
+    private record BiteStamp(long nanos, long overrunNanos) {
+    }
 }
\ No newline at end of file
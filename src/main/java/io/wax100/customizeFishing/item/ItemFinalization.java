@@ -0,0 +1,103 @@
+package io.wax100.customizeFishing.item;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 釣果アイテムの仕上げ処理で共有する編集トランザクション。
+ * <p>
+ * 各処理はここで共有するメタデータに変更を積み上げ、
+ * Loreの先頭追加はまとめて1回だけ結合される。最後に {@link #commit()} で1回だけ書き戻す。
+ */
+public final class ItemFinalization {
+
+    private final ItemStack item;
+    private ItemMeta meta;
+    private final Player player;
+    private final String category;
+    private final List<String> lorePrefix = new ArrayList<>();
+    private List<String> baseLore;
+    private boolean dirty;
+
+    ItemFinalization(ItemStack item, Player player, String category) {
+        this.item = item;
+        this.player = player;
+        this.category = category;
+    }
+
+    public ItemStack item() {
+        return item;
+    }
+
+    /**
+     * 共有メタデータ（最初に必要になった時点で1回だけ読み取る）
+     */
+    public ItemMeta meta() {
+        if (meta == null) {
+            meta = ItemInspection.forEdit(item).meta();
+        }
+        return meta;
+    }
+
+    public Player player() {
+        return player;
+    }
+
+    public String category() {
+        return category;
+    }
+
+    /**
+     * Loreの先頭に行を追加する（後から追加した行ほど上に表示される）
+     *
+     * @param lines 追加する行（上から順）
+     */
+    public void prependLore(String... lines) {
+        Collections.addAll(lorePrefix.subList(0, 0), lines);
+        dirty = true;
+    }
+
+    /**
+     * 元のLoreを置き換える（先頭追加された行はこの上に表示される）
+     *
+     * @param lore 新しいLore
+     */
+    public void replaceLore(List<String> lore) {
+        this.baseLore = new ArrayList<>(lore);
+        dirty = true;
+    }
+
+    /**
+     * Lore以外のメタデータを変更したことを記録する
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * 積み上げた変更を1回の setItemMeta で書き戻す
+     *
+     * @return 変更があり書き戻した場合true
+     */
+    boolean commit() {
+        if (!dirty || meta == null) {
+            return false;
+        }
+        if (!lorePrefix.isEmpty() || baseLore != null) {
+            List<String> original = baseLore != null ? baseLore : meta.getLore();
+            List<String> lore = new ArrayList<>(lorePrefix.size() + (original != null ? original.size() : 0));
+            lore.addAll(lorePrefix);
+            if (original != null) {
+                lore.addAll(original);
+            }
+            meta.setLore(lore);
+        }
+        item.setItemMeta(meta);
+        return true;
+    }
+}
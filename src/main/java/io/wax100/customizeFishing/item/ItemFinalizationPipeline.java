@@ -0,0 +1,41 @@
+package io.wax100.customizeFishing.item;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+
+/**
+ * 釣果アイテムの仕上げ処理を宣言順に実行し、メタデータを1回だけ書き戻すパイプライン
+ */
+public class ItemFinalizationPipeline {
+
+    private final List<ItemFinalizer> finalizers;
+
+    public ItemFinalizationPipeline(List<ItemFinalizer> finalizers) {
+        this.finalizers = List.copyOf(finalizers);
+    }
+
+    /**
+     * 仕上げ処理を実行する
+     *
+     * @param item     釣果アイテム（直接変更される）
+     * @param player   釣ったプレイヤー
+     * @param category カテゴリ
+     * @return 仕上げ後のアイテム（引数と同一インスタンス）
+     */
+    public ItemStack finalizeItem(ItemStack item, Player player, String category) {
+        if (item == null || item.getType().isAir()) {
+            return item;
+        }
+
+        ItemFinalization finalization = new ItemFinalization(item, player, category);
+        for (ItemFinalizer finalizer : finalizers) {
+            if (finalizer.appliesTo().test(finalization)) {
+                finalizer.contribute().accept(finalization);
+            }
+        }
+        finalization.commit();
+        return item;
+    }
+}
@@ -0,0 +1,14 @@
+package io.wax100.customizeFishing.item;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 釣果アイテムの仕上げ処理の1段階
+ *
+ * @param name       処理名（デバッグログ用）
+ * @param appliesTo  この処理を適用するか（適用しない場合は安価に判定できること）
+ * @param contribute 共有メタデータへの変更
+ */
+public record ItemFinalizer(String name, Predicate<ItemFinalization> appliesTo, Consumer<ItemFinalization> contribute) {
+}
@@ -0,0 +1,136 @@
+package io.wax100.customizeFishing.item;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * ItemStackのメタデータを1回だけ読み取り、その読み取り結果から各種情報を返すビュー。
+ * <p>
+ * {@link ItemStack#getItemMeta()} は呼ぶたびにメタデータを複製するため、
+ * 1つの処理段階の中では同じインスペクションを使い回す。
+ * 変更した場合は {@link #apply()} でアイテムに書き戻す。
+ */
+public final class ItemInspection {
+
+    // getItemMeta() の呼び出し回数（メインスレッドからのみ更新される）
+    private static long metaCloneCount;
+
+    private final ItemStack item;
+    private final ItemMeta meta;
+
+    private ItemInspection(ItemStack item, ItemMeta meta) {
+        this.item = item;
+        this.meta = meta;
+    }
+
+    /**
+     * アイテムのメタデータを1回読み取ってインスペクションを作成
+     *
+     * @param item 対象のアイテム（nullも可）
+     * @return インスペクション
+     */
+    public static ItemInspection of(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return new ItemInspection(item, null);
+        }
+        metaCloneCount++;
+        return new ItemInspection(item, item.getItemMeta());
+    }
+
+    /**
+     * メタデータを持たないアイテムも含めて、編集用にメタデータを読み取ってインスペクションを作成
+     *
+     * @param item 対象のアイテム（AIR以外）
+     * @return インスペクション
+     */
+    public static ItemInspection forEdit(ItemStack item) {
+        metaCloneCount++;
+        return new ItemInspection(item, item.getItemMeta());
+    }
+
+    /**
+     * 起動からのメタデータ複製回数を取得（差分を取って1回の釣りあたりの回数を計測する）
+     */
+    public static long getMetaCloneCount() {
+        return metaCloneCount;
+    }
+
+    public ItemStack item() {
+        return item;
+    }
+
+    /**
+     * 読み取ったメタデータ（メタデータが無いアイテムはnull）
+     */
+    public ItemMeta meta() {
+        return meta;
+    }
+
+    public boolean hasMeta() {
+        return meta != null;
+    }
+
+    /**
+     * 変更したメタデータをアイテムに書き戻す
+     */
+    public void apply() {
+        if (item != null && meta != null) {
+            item.setItemMeta(meta);
+        }
+    }
+
+    public boolean hasByte(NamespacedKey key) {
+        return meta != null && meta.getPersistentDataContainer().has(key, PersistentDataType.BYTE);
+    }
+
+    public Byte getByte(NamespacedKey key) {
+        return meta != null ? meta.getPersistentDataContainer().get(key, PersistentDataType.BYTE) : null;
+    }
+
+    public String getString(NamespacedKey key) {
+        return meta != null ? meta.getPersistentDataContainer().get(key, PersistentDataType.STRING) : null;
+    }
+
+    /**
+     * 表示名（カスタム名が無ければアイテム種別名）と個数
+     */
+    public String displayName() {
+        if (item == null) return "null";
+        String displayName = item.getType().name().toLowerCase().replace("_", " ");
+        if (meta != null && meta.hasDisplayName()) {
+            displayName = meta.getDisplayName();
+        }
+        return displayName + " x" + item.getAmount();
+    }
+
+    public int enchantLevel(Enchantment enchant) {
+        return meta != null ? meta.getEnchantLevel(enchant) : 0;
+    }
+
+    /**
+     * エンチャント本に格納されたエンチャントのレベル（エンチャント本以外は0）
+     */
+    public int storedEnchantLevel(Enchantment enchant) {
+        return meta instanceof EnchantmentStorageMeta storageMeta ? storageMeta.getStoredEnchantLevel(enchant) : 0;
+    }
+
+    /**
+     * 幸運（GENERIC_LUCK）の属性修飾子
+     */
+    public Collection<AttributeModifier> luckModifiers() {
+        if (meta == null || !meta.hasAttributeModifiers()) {
+            return Collections.emptyList();
+        }
+        Collection<AttributeModifier> modifiers = meta.getAttributeModifiers(Attribute.GENERIC_LUCK);
+        return modifiers != null ? modifiers : Collections.emptyList();
+    }
+}
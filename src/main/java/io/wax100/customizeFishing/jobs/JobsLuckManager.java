@@ -1,11 +1,15 @@
 package io.wax100.customizeFishing.jobs;
 
 import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.entity.Player;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Jobs (Jobs Reborn) 連携: 指定職業に就いているプレイヤーを釣り抽選時のみ
@@ -13,15 +17,40 @@ import java.util.Set;
  * <p>
  * Jobs API へのアクセスは {@link JobsRebornLevelProvider} に隔離されており、
  * Jobs 未導入サーバーでは一切ロードされない（常に幸運Lv0として動作する）
+ * <p>
+ * 幸運レベルはプレイヤーごとにキャッシュし、Jobs のレベルアップ・就職・退職イベント
+ * （{@link JobsRebornListener}）で破棄する。イベントで捕捉できない変化（コマンドでのレベル変更など）に備え、
+ * jobs_luck.cache_ttl_ms を過ぎたものは取得し直す。
  */
 public class JobsLuckManager {
 
     private final CustomizeFishing plugin;
     private final JobsLevelProvider levelProvider;
+    private final Map<UUID, CachedLevel> cachedLevels = new HashMap<>();
+    // jobs_luck のコンパイル結果
+    private Settings settings;
+    // Jobs API 呼び出しの計測
+    private long lookups;
+    private long lookupNanos;
+    private long maxLookupNanos;
 
     public JobsLuckManager(CustomizeFishing plugin) {
         this.plugin = plugin;
+        reload();
         this.levelProvider = createProvider(plugin);
+        if (levelProvider != null) {
+            // イベントクラスも Jobs 側にあるため、Jobs 導入時のみリスナーを登録する
+            registerListener(plugin);
+        }
+    }
+
+    private void registerListener(CustomizeFishing plugin) {
+        try {
+            plugin.getServer().getPluginManager().registerEvents(new JobsRebornListener(plugin, this), plugin);
+        } catch (Throwable t) {
+            // Jobs のバージョン差異等でイベントが読み込めなくても、cache_ttl_ms ごとの取得し直しで動作する
+            plugin.getLogger().warning("Jobs のイベントを登録できないため、職業レベルは jobs_luck.cache_ttl_ms ごとに取得し直します: " + t);
+        }
     }
 
     private static JobsLevelProvider createProvider(CustomizeFishing plugin) {
@@ -47,23 +76,88 @@ public class JobsLuckManager {
      * @return 幸運ポーション相当レベル（対象外・Jobs未導入・無効時は0）
      */
     public int getJobsLuckLevel(Player player) {
-        if (levelProvider == null || !plugin.getConfig().getBoolean("jobs_luck.enabled", false)) {
+        if (levelProvider == null) {
             return 0;
         }
-        Set<String> targetJobs = new HashSet<>();
-        for (String name : plugin.getConfig().getStringList("jobs_luck.jobs")) {
-            targetJobs.add(name.toLowerCase(Locale.ROOT));
-        }
-        if (targetJobs.isEmpty()) {
+        Settings current = settings;
+        if (!current.enabled() || current.targetJobs().isEmpty()) {
             return 0;
         }
-        int levelsPerLuck = Math.max(1, plugin.getConfig().getInt("jobs_luck.levels_per_luck", 10));
+
+        long now = System.nanoTime();
+        CachedLevel cached = cachedLevels.get(player.getUniqueId());
+        if (cached != null && now - cached.fetchedAt() < current.ttlNanos()) {
+            return cached.luckLevel();
+        }
+
+        int luckLevel;
         try {
-            return levelProvider.getHighestLevel(player, targetJobs) / levelsPerLuck;
+            luckLevel = levelProvider.getHighestLevel(player, current.targetJobs()) / current.levelsPerLuck();
         } catch (Throwable t) {
             // Jobs のバージョン差異等でAPIが変わっても釣り処理自体は止めない
             plugin.getLogger().warning("Jobs 連携でエラーが発生しました: " + t);
             return 0;
+        } finally {
+            long elapsed = System.nanoTime() - now;
+            lookups++;
+            lookupNanos += elapsed;
+            maxLookupNanos = Math.max(maxLookupNanos, elapsed);
         }
+        cachedLevels.put(player.getUniqueId(), new CachedLevel(luckLevel, now));
+        return luckLevel;
+    }
+
+    /**
+     * プレイヤーの幸運レベルのキャッシュを破棄する
+     *
+     * @param playerId プレイヤーのUUID
+     */
+    public void invalidate(UUID playerId) {
+        cachedLevels.remove(playerId);
+    }
+
+    /**
+     * jobs_luck を読み直し、全プレイヤーの幸運レベルのキャッシュを破棄する
+     */
+    public void reload() {
+        Configuration config = plugin.getConfig();
+        Set<String> targetJobs = new HashSet<>();
+        for (String name : config.getStringList("jobs_luck.jobs")) {
+            targetJobs.add(name.toLowerCase(Locale.ROOT));
+        }
+        settings = new Settings(
+                config.getBoolean("jobs_luck.enabled", false),
+                Set.copyOf(targetJobs),
+                Math.max(1, config.getInt("jobs_luck.levels_per_luck", 10)),
+                config.getLong("jobs_luck.cache_ttl_ms", 30000L) * 1_000_000L
+        );
+        cachedLevels.clear();
+    }
+
+    /**
+     * Jobs API を呼び出した回数
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * Jobs API 呼び出しの平均時間（マイクロ秒）
+     */
+    public double getAverageLookupMicros() {
+        return lookups == 0 ? 0.0 : lookupNanos / 1_000.0 / lookups;
+    }
+
+    /**
+     * Jobs API 呼び出しの最大時間（マイクロ秒）
+     */
+    public double getMaxLookupMicros() {
+        return maxLookupNanos / 1_000.0;
+    }
+
+    private record Settings(boolean enabled, Set<String> targetJobs, int levelsPerLuck, long ttlNanos) {
+    }
+
+    private record CachedLevel(int luckLevel, long fetchedAt) {
     }
 }
@@ -0,0 +1,64 @@
+package io.wax100.customizeFishing.jobs;
+
+import com.gamingmesh.jobs.api.JobsJoinEvent;
+import com.gamingmesh.jobs.api.JobsLeaveEvent;
+import com.gamingmesh.jobs.api.JobsLevelUpEvent;
+import com.gamingmesh.jobs.container.JobsPlayer;
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Jobs (Jobs Reborn) のイベントで職業レベルのキャッシュを破棄するリスナー
+ * このクラスは Jobs プラグインが存在する場合のみロード・登録される
+ */
+public class JobsRebornListener implements Listener {
+
+    private final CustomizeFishing plugin;
+    private final JobsLuckManager jobsLuckManager;
+
+    public JobsRebornListener(CustomizeFishing plugin, JobsLuckManager jobsLuckManager) {
+        this.plugin = plugin;
+        this.jobsLuckManager = jobsLuckManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onJobsLevelUp(JobsLevelUpEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onJobsJoin(JobsJoinEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onJobsLeave(JobsLeaveEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        jobsLuckManager.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * イベントは職業レベルの反映前に発火するため、次のtickでキャッシュを破棄する
+     */
+    private void invalidate(JobsPlayer jobsPlayer) {
+        if (jobsPlayer == null) {
+            return;
+        }
+        plugin.getTimingWheel().nextTick(() -> {
+            jobsLuckManager.invalidate(jobsPlayer.getUniqueId());
+            Player player = jobsPlayer.getPlayer();
+            if (player != null) {
+                // 職業レベルは幸運状態のキャッシュにも含まれている
+                plugin.getPlayerLuckCache().invalidate(player);
+            }
+        });
+    }
+}
@@ -2,8 +2,9 @@ package io.wax100.customizeFishing.listeners;
 
 import io.wax100.customizeFishing.CustomizeFishing;
 import io.wax100.customizeFishing.binding.BindingCurseManager;
+import io.wax100.customizeFishing.binding.BoundItemAuditor;
+import io.wax100.customizeFishing.binding.ContainerTransferGuard;
 import org.bukkit.ChatColor;
-import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -13,105 +14,66 @@ import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
 import org.bukkit.event.player.PlayerArmorStandManipulateEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
 
 public class BindingCurseListener implements Listener {
 
     private static final long MESSAGE_COOLDOWN = 3000; // 3秒のクールダウン
-    private final CustomizeFishing plugin;
     private final BindingCurseManager bindingCurseManager;
+    private final BoundItemAuditor boundItemAuditor;
+    private final ContainerTransferGuard containerTransferGuard;
     private final Map<UUID, Long> lastMessageTime = new HashMap<>();
 
     public BindingCurseListener(CustomizeFishing plugin) {
-        this.plugin = plugin;
         this.bindingCurseManager = new BindingCurseManager(plugin);
+        this.boundItemAuditor = new BoundItemAuditor(plugin, bindingCurseManager);
+        this.boundItemAuditor.start();
+        this.containerTransferGuard = new ContainerTransferGuard(plugin, bindingCurseManager);
+    }
+
+    /**
+     * 束縛の呪いの設定を読み直す
+     */
+    public void reload() {
+        boundItemAuditor.reload();
+        containerTransferGuard.reload();
     }
 
     private boolean checkAndCancelIfNotOwner(ItemStack item, Player player) {
-        if (item == null || !bindingCurseManager.hasBindingCurse(item) || !bindingCurseManager.hasOwner(item)) {
+        BindingCurseManager.Owner owner = bindingCurseManager.getForeignOwner(item, player);
+        if (owner == null) {
             return false;
         }
 
-        if (!bindingCurseManager.isOwner(item, player)) {
-            sendWarningMessage(player, item);
-            return true;
-        }
-
-        return false;
+        sendWarningMessage(player, owner);
+        return true;
     }
 
-    private void sendWarningMessage(Player player, ItemStack item) {
+    private void sendWarningMessage(Player player, BindingCurseManager.Owner owner) {
         UUID playerId = player.getUniqueId();
         long currentTime = System.currentTimeMillis();
         Long lastTime = lastMessageTime.get(playerId);
 
         if (lastTime == null || currentTime - lastTime > MESSAGE_COOLDOWN) {
-            String ownerName = bindingCurseManager.getOwnerName(item);
-            player.sendMessage(ChatColor.RED + "このアイテムは " + ChatColor.YELLOW + ownerName + ChatColor.RED + " にのみ束縛されています！");
+            player.sendMessage(ChatColor.RED + "このアイテムは " + ChatColor.YELLOW + owner.name() + ChatColor.RED + " にのみ束縛されています！");
             lastMessageTime.put(playerId, currentTime);
         }
     }
 
-    private void dropBoundItemsNotOwnedBy(Player player) {
-        PlayerInventory inventory = player.getInventory();
-        Location playerLocation = player.getLocation();
-
-        // インベントリ内の全スロットをチェック
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ItemStack item = inventory.getItem(i);
-            if (item != null && bindingCurseManager.hasBindingCurse(item) &&
-                    bindingCurseManager.hasOwner(item) && !bindingCurseManager.isOwner(item, player)) {
-
-                // アイテムをドロップ
-                Objects.requireNonNull(playerLocation.getWorld()).dropItem(playerLocation, item);
-                inventory.setItem(i, null);
-
-                String ownerName = bindingCurseManager.getOwnerName(item);
-                player.sendMessage(ChatColor.YELLOW + ownerName + ChatColor.RED + " の束縛アイテムが自動的にドロップされました。");
-            }
-        }
-
-        // 防具スロットもチェック
-        ItemStack[] armorContents = inventory.getArmorContents();
-        for (int i = 0; i < armorContents.length; i++) {
-            ItemStack item = armorContents[i];
-            if (item != null && bindingCurseManager.hasBindingCurse(item) &&
-                    bindingCurseManager.hasOwner(item) && !bindingCurseManager.isOwner(item, player)) {
-
-                // アイテムをドロップ
-                Objects.requireNonNull(playerLocation.getWorld()).dropItem(playerLocation, item);
-                armorContents[i] = null;
-
-                String ownerName = bindingCurseManager.getOwnerName(item);
-                player.sendMessage(ChatColor.YELLOW + ownerName + ChatColor.RED + " の束縛アイテムが自動的にドロップされました。");
-            }
-        }
-        inventory.setArmorContents(armorContents);
-
-        // オフハンドもチェック
-        ItemStack offHand = inventory.getItemInOffHand();
-        if (bindingCurseManager.hasBindingCurse(offHand) && bindingCurseManager.hasOwner(offHand) && !bindingCurseManager.isOwner(offHand, player)) {
-
-            Objects.requireNonNull(playerLocation.getWorld()).dropItem(playerLocation, offHand);
-            inventory.setItemInOffHand(null);
-
-            String ownerName = bindingCurseManager.getOwnerName(offHand);
-            player.sendMessage(ChatColor.YELLOW + ownerName + ChatColor.RED + " の束縛アイテムが自動的にドロップされました。");
-        }
-    }
-
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onItemPickup(EntityPickupItemEvent event) {
         if (!(event.getEntity() instanceof Player player)) {
@@ -122,6 +84,13 @@ public class BindingCurseListener implements Listener {
 
         if (checkAndCancelIfNotOwner(item, player)) {
             event.setCancelled(true);
+            return;
+        }
+
+        // 拾った束縛アイテムの格納先スロットは分からないため、次のtickで全スロットを再確認
+        if (bindingCurseManager.hasBindingCurse(item)) {
+            boundItemAuditor.markAll(player);
+            boundItemAuditor.requestCheck(player);
         }
     }
 
@@ -141,6 +110,16 @@ public class BindingCurseListener implements Listener {
 
         if (cursorItem != null && cursorItem.getType() != Material.AIR && checkAndCancelIfNotOwner(cursorItem, player)) {
             event.setCancelled(true);
+            return;
+        }
+
+        // 束縛アイテムが動いたスロットを記録（インベントリを閉じたときに再確認する）
+        if (bindingCurseManager.hasBindingCurse(currentItem) || bindingCurseManager.hasBindingCurse(cursorItem)) {
+            if (event.getClickedInventory() instanceof PlayerInventory && !event.isShiftClick() && event.getHotbarButton() < 0) {
+                boundItemAuditor.markSlot(player, event.getSlot());
+            } else {
+                boundItemAuditor.markAll(player);
+            }
         }
     }
 
@@ -150,13 +129,29 @@ public class BindingCurseListener implements Listener {
             return;
         }
 
-        // インベントリを閉じた後に遅延実行
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                dropBoundItemsNotOwnedBy(player);
-            }
-        }.runTaskLater(plugin, 1L);
+        // 束縛アイテムが動いたスロットだけを次のtickで再確認
+        boundItemAuditor.requestCheck(player);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent event) {
+        // ホッパー・ドロッパー等で束縛アイテムを共有ストレージへ流さない
+        if (containerTransferGuard.shouldBlock(event.getItem())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onInventoryPickupItem(InventoryPickupItemEvent event) {
+        // ホッパーが地面の束縛アイテムを吸い込まないようにする
+        if (containerTransferGuard.shouldBlock(event.getItem().getItemStack())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        boundItemAuditor.forget(event.getPlayer());
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -169,6 +164,19 @@ public class BindingCurseListener implements Listener {
 
         if (checkAndCancelIfNotOwner(oldCursor, player)) {
             event.setCancelled(true);
+            return;
+        }
+
+        if (bindingCurseManager.hasBindingCurse(oldCursor)) {
+            InventoryView view = event.getView();
+            for (int rawSlot : event.getRawSlots()) {
+                if (view.getInventory(rawSlot) instanceof PlayerInventory) {
+                    boundItemAuditor.markSlot(player, view.convertSlot(rawSlot));
+                } else {
+                    // クラフト枠などに置かれた分は閉じたときにインベントリへ戻る
+                    boundItemAuditor.markAll(player);
+                }
+            }
         }
     }
 
@@ -0,0 +1,54 @@
+package io.wax100.customizeFishing.listeners;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.fishing.EnvironmentConditions;
+import io.wax100.customizeFishing.fishing.OpenWaterCache;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+
+/**
+ * ブロックの変化で釣り針位置の判定キャッシュ（開水域・環境条件）を破棄するリスナー
+ */
+public class BlockChangeListener implements Listener {
+
+    private final OpenWaterCache openWaterCache;
+    private final EnvironmentConditions environmentConditions;
+
+    public BlockChangeListener(CustomizeFishing plugin) {
+        this.openWaterCache = plugin.getOpenWaterCache();
+        this.environmentConditions = plugin.getEnvironmentConditions();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        // 水・溶岩が流れ込む先のブロック
+        invalidate(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPhysics(BlockPhysicsEvent event) {
+        // 最も頻繁に発火するイベントのため、キャッシュの無いチャンクはハッシュ参照だけで終わる
+        invalidate(event.getBlock());
+    }
+
+    private void invalidate(Block block) {
+        openWaterCache.invalidate(block);
+        environmentConditions.invalidate(block);
+    }
+}
@@ -8,24 +8,24 @@ import io.wax100.customizeFishing.enchant.EnchantLimiter;
 import io.wax100.customizeFishing.enums.Weather;
 import io.wax100.customizeFishing.fishing.CategorySelector;
 import io.wax100.customizeFishing.fishing.DoubleFishingHandler;
-import io.wax100.customizeFishing.fishing.FishingConditionChecker;
+import io.wax100.customizeFishing.fishing.EnvironmentConditions;
 import io.wax100.customizeFishing.fishing.FishingProcessor;
+import io.wax100.customizeFishing.fishing.PlayerStateSnapshot;
 import io.wax100.customizeFishing.fishing.ProbabilityCalculator;
 import io.wax100.customizeFishing.fishing.TimingHandler;
+import io.wax100.customizeFishing.item.ItemInspection;
 import io.wax100.customizeFishing.luck.LuckCalculator;
 import io.wax100.customizeFishing.luck.LuckResult;
 import io.wax100.customizeFishing.timing.TimingResult;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.Sound;
-import org.bukkit.block.Block;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerFishEvent;
-import org.bukkit.inventory.ItemStack;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.Objects;
 
@@ -56,6 +56,15 @@ public class FishingListener implements Listener {
         this.luckCalculator = new LuckCalculator(plugin, debugLogger);
     }
 
+    /**
+     * 釣果処理で使う設定を読み直す
+     */
+    public void reload() {
+        enchantLimiter.reload();
+        timingHandler.reload();
+        luckCalculator.reload();
+    }
+
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerFish(PlayerFishEvent event) {
@@ -71,8 +80,11 @@ public class FishingListener implements Listener {
             // 釣りを開始した時点でログ開始
             debugLogger.logFishingStart(player);
             // 入れ食いLv6以上の竿でも浮きが沈むように待ち時間を補正
-            ItemStack rod = getFishingRod(player);
-            enchantLimiter.applyLureBehaviorCap(event.getHook(), rod);
+            enchantLimiter.applyLureBehaviorCap(event.getHook(), plugin.getRodProfiles().get(player));
+            // 釣果処理の回数が上限を超えているプレイヤーは待ち時間を延ばす
+            if (plugin.getCatchGovernor().onCast(player, event.getHook())) {
+                debugLogger.logInfo(player, "[GOVERNOR] Catch rate over budget, lengthening hook wait time");
+            }
             // 高レベル入れ食いではBITEイベントが発火しないことがあるため、
             // FISHING時点でBITEタイムスタンプを先行記録する。
             // BITEが正常に発火すれば正しい時刻で上書きされるので安全。
@@ -90,17 +102,50 @@ public class FishingListener implements Listener {
             return;
         }
 
+        // 釣果処理に使った時間は演出の延期・省略の判定に使う
+        long started = System.nanoTime();
+        try {
+            handleCaughtFish(event, player, hookLocation);
+        } finally {
+            plugin.getEffectBudget().charge(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * 釣り上げ（CAUGHT_FISH）の処理
+     */
+    private void handleCaughtFish(PlayerFishEvent event, Player player, Location hookLocation) {
         if (!(event.getCaught() instanceof Item itemEntity)) {
             return;
         }
 
+        // 釣り上げた時点のプレイヤーの状態を1回だけ読み取り、以降の処理で共有する
+        PlayerStateSnapshot playerState = PlayerStateSnapshot.capture(player, plugin.getRodProfiles().get(player));
+
         // バイパスパーミッションを持つプレイヤーはバニラの釣り結果を使用
-        if (player.hasPermission("customizefishing.bypass")) {
+        if (playerState.bypass()) {
             debugLogger.logInfo(player, "[BYPASS] Player has customizefishing.bypass permission, using vanilla result");
             debugLogger.logFishingEnd(player);
             return;
         }
 
+        // 釣果処理の回数が上限を超えている場合はバニラの釣果のまま、またはキャンセル
+        switch (plugin.getCatchGovernor().onCatch(player)) {
+            case DEGRADE -> {
+                debugLogger.logInfo(player, "[GOVERNOR] Catch rate over budget, using vanilla result");
+                debugLogger.logFishingEnd(player);
+                return;
+            }
+            case REJECT -> {
+                event.setCancelled(true);
+                debugLogger.logInfo(player, "[GOVERNOR] Catch rate over budget, catch rejected");
+                debugLogger.logFishingEnd(player);
+                return;
+            }
+            default -> {
+            }
+        }
+
         // Modアイテムの場合はカスタム処理をスキップ（minecraft以外の名前空間を持つアイテム）
         String itemNamespace = itemEntity.getItemStack().getType().getKey().getNamespace();
         if (!"minecraft".equals(itemNamespace)) {
@@ -109,80 +154,51 @@ public class FishingListener implements Listener {
             return;
         }
 
+        long metaClonesBefore = ItemInspection.getMetaCloneCount();
         TimingResult timingResult = timingHandler.calculateTimingResult(player);
 
         // 幸運値を事前に計算（ダブルフィッシングでも1回だけ計算）
-        boolean isOpenWater = FishingConditionChecker.isOpenWater(hookLocation);
-        Weather weather = Weather.CLEAR;
-        if (Objects.requireNonNull(hookLocation.getWorld()).isThundering()) {
-            weather = Weather.THUNDER;
-        } else if (hookLocation.getWorld().hasStorm()) {
-            weather = Weather.RAIN;
-        }
+        boolean isOpenWater = plugin.getOpenWaterCache().isOpenWater(hookLocation);
+        // 天気は釣り針の位置のバイオームの降水を考慮して求める（砂漠では嵐でも晴れ扱い）
+        Weather weather = plugin.getBiomeWeather().resolve(hookLocation);
 
-        // Twilight Forest rainy_cloud の検出（ウキの上空32ブロック以内）
-        if (checkForTwilightRainyClouds(hookLocation)) {
-            weather = Weather.RAIN;
-        }
+        // 釣り針の上下にあるブロックによる環境条件（天気の上書き・幸運値の追加）
+        EnvironmentConditions.EnvironmentEffect environment = plugin.getEnvironmentConditions().evaluate(hookLocation);
+        weather = environment.applyTo(weather);
 
-        LuckResult luckResult = luckCalculator.calculateTotalLuck(player, weather, timingResult);
+        LuckResult luckResult = luckCalculator.calculateTotalLuck(player, weather, timingResult, environment.luck());
 
-        boolean canDoubleFish = doubleFishingHandler.canDoubleFish(player);
+        boolean canDoubleFish = doubleFishingHandler.canDoubleFish(playerState);
 
         if (canDoubleFish && plugin.getConfig().getBoolean("double_fishing.enabled", true)) {
-            doubleFishingHandler.handleDoubleFishing(player, itemEntity, hookLocation, timingResult, luckResult, isOpenWater, weather);
+            doubleFishingHandler.handleDoubleFishing(player, playerState, itemEntity, hookLocation, timingResult, luckResult, isOpenWater, weather);
         } else {
-            FishingProcessor.FishingResult result = fishingProcessor.processFishing(player, itemEntity, hookLocation, false, timingResult, luckResult, isOpenWater, weather);
+            FishingProcessor.FishingResult result = fishingProcessor.processFishing(player, playerState, itemEntity, hookLocation, false, timingResult, luckResult, isOpenWater, weather);
             if (result.category() != null) {
-                catchEffects.playCatchEffects(player, result.category(), result.probabilityInfo());
+                catchEffects.playCatchEffects(player, playerState, result.category(), result.probabilityInfo());
             }
         }
 
         timingHandler.displayTimingAtHook(hookLocation, timingResult);
+        debugLogger.logInfo(player, "[ITEM-META] getItemMeta clones this catch: " + (ItemInspection.getMetaCloneCount() - metaClonesBefore));
         debugLogger.logFishingEnd(player);
     }
 
 
-    /**
-     * プレイヤーが使用中の釣り竿を取得する（メインハンド優先、なければオフハンド）
-     *
-     * @param player プレイヤー
-     * @return 釣り竿のItemStack。どちらの手にも無い場合はメインハンドのアイテム
-     */
-    private ItemStack getFishingRod(Player player) {
-        ItemStack mainHand = player.getInventory().getItemInMainHand();
-        if (mainHand.getType() == Material.FISHING_ROD) {
-            return mainHand;
-        }
-        ItemStack offHand = player.getInventory().getItemInOffHand();
-        if (offHand.getType() == Material.FISHING_ROD) {
-            return offHand;
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onHookRemoved(PlayerFishEvent event) {
+        // 浮きが消える状態になったら竿プロファイルを破棄
+        switch (event.getState()) {
+            case CAUGHT_FISH, CAUGHT_ENTITY, IN_GROUND, FAILED_ATTEMPT, REEL_IN -> plugin.getRodProfiles().end(event.getPlayer());
+            default -> {
+            }
         }
-        return mainHand;
     }
 
-
-    /**
-     * Twilight Forest の rainy_cloud ブロックが釣り針の上空32ブロック以内にあるかチェック
-     *
-     * @param hookLocation 釣り針の位置
-     * @return rainy_cloudが見つかった場合はtrue
-     */
-    private boolean checkForTwilightRainyClouds(Location hookLocation) {
-        // ウキの真上のみをチェック（Y軸+1〜+32ブロック）
-        for (int y = 1; y <= 32; y++) {
-            Location checkLocation = hookLocation.clone().add(0, y, 0);
-            Block block = checkLocation.getBlock();
-
-            // Twilight Forest の rainy_cloud ブロックかチェック
-            Material blockType = block.getType();
-            String blockKey = blockType.getKey().toString();
-
-            if ("twilightforest:rainy_cloud".equals(blockKey)) {
-                return true;
-            }
-        }
-        return false;
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getRodProfiles().end(event.getPlayer());
+        plugin.getCatchGovernor().forget(event.getPlayer());
     }
 
 
@@ -0,0 +1,128 @@
+package io.wax100.customizeFishing.listeners;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.luck.PlayerLuckCache;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityPotionEffectEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerLevelChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+/**
+ * 幸運状態に影響する変化（持ち替え・装備変更・ポーション効果・経験値レベル）で
+ * プレイヤーごとの幸運状態キャッシュを無効化するリスナー
+ */
+public class LuckCacheListener implements Listener {
+
+    // PlayerInventory#getItem(int) のオフハンドスロット
+    private static final int OFF_HAND_SLOT = 40;
+
+    private final PlayerLuckCache playerLuckCache;
+
+    public LuckCacheListener(CustomizeFishing plugin) {
+        this.playerLuckCache = plugin.getPlayerLuckCache();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerItemHeld(PlayerItemHeldEvent event) {
+        playerLuckCache.invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerSwapHandItems(PlayerSwapHandItemsEvent event) {
+        playerLuckCache.invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) {
+            return;
+        }
+
+        // シフトクリックと数字キーは移動先が分からないため、防具・手のスロットに入りうるものとして扱う
+        if (event.isShiftClick() || event.getHotbarButton() >= 0
+                || event.getSlotType() == InventoryType.SlotType.ARMOR
+                || (event.getClickedInventory() instanceof PlayerInventory inventory && isHandSlot(inventory, event.getSlot()))) {
+            playerLuckCache.invalidate(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) {
+            return;
+        }
+
+        for (int rawSlot : event.getRawSlots()) {
+            if (event.getView().getInventory(rawSlot) instanceof PlayerInventory inventory) {
+                int slot = event.getView().convertSlot(rawSlot);
+                if (isHandSlot(inventory, slot) || event.getView().getSlotType(rawSlot) == InventoryType.SlotType.ARMOR) {
+                    playerLuckCache.invalidate(player);
+                    return;
+                }
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        // 右クリックによる防具の装着（竿を振る操作では無効化しない）
+        ItemStack item = event.getItem();
+        if (item != null && (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK)
+                && item.getType().getEquipmentSlot() != EquipmentSlot.HAND) {
+            playerLuckCache.invalidate(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityPotionEffect(EntityPotionEffectEvent event) {
+        // 付与・上書き・効果切れ・牛乳などによる除去をすべて含む
+        if (event.getEntity() instanceof Player player) {
+            playerLuckCache.invalidate(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLevelChange(PlayerLevelChangeEvent event) {
+        playerLuckCache.invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerDropItem(PlayerDropItemEvent event) {
+        playerLuckCache.invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerItemBreak(PlayerItemBreakEvent event) {
+        playerLuckCache.invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        playerLuckCache.invalidate(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        playerLuckCache.forget(event.getPlayer());
+    }
+
+    private boolean isHandSlot(PlayerInventory inventory, int slot) {
+        return slot == OFF_HAND_SLOT || slot == inventory.getHeldItemSlot();
+    }
+}
@@ -3,11 +3,12 @@ package io.wax100.customizeFishing.luck;
 import io.wax100.customizeFishing.CustomizeFishing;
 import io.wax100.customizeFishing.debug.DebugLogger;
 import io.wax100.customizeFishing.enums.Weather;
+import io.wax100.customizeFishing.item.ItemInspection;
 import io.wax100.customizeFishing.timing.TimingResult;
 import io.wax100.customizeFishing.timing.TimingTier;
 import org.bukkit.Material;
-import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.EquipmentSlot;
@@ -15,7 +16,8 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffectType;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -23,16 +25,44 @@ import java.util.Objects;
  */
 public class LuckCalculator {
 
+    // タイミングティア（素早い順）
+    private static final String[] TIMING_TIER_NAMES = {"just", "perfect", "great", "good"};
+
     private final CustomizeFishing plugin;
     private final DebugLogger debugLogger;
+    // timing_system のティア表
+    private TimingTable timingTable;
 
     public LuckCalculator(CustomizeFishing plugin, DebugLogger debugLogger) {
         this.plugin = plugin;
         this.debugLogger = debugLogger;
+        reload();
+    }
+
+    /**
+     * timing_system のティア表を読み直す
+     */
+    public void reload() {
+        Configuration config = plugin.getConfig();
+        List<TimingTier> tiers = new ArrayList<>();
+        for (String tierName : TIMING_TIER_NAMES) {
+            String configPath = "timing_system.tiers." + tierName;
+            tiers.add(new TimingTier(
+                    tierName,
+                    config.getDouble(configPath + ".max_time_ms", Double.MAX_VALUE),
+                    config.getDouble(configPath + ".bonus_multiplier", 0)
+            ));
+        }
+        timingTable = new TimingTable(
+                config.getBoolean("timing_system.enabled", true),
+                config.getDouble("timing_system.base_luck_bonus", 1.5),
+                List.copyOf(tiers)
+        );
     }
 
     /**
      * 全ての幸運値を計算
+     * 天気・タイミング以外の要素はプレイヤーごとのキャッシュから取得する
      *
      * @param player       プレイヤー
      * @param weather      天気
@@ -40,40 +70,49 @@ public class LuckCalculator {
      * @return 幸運計算結果
      */
     public LuckResult calculateTotalLuck(Player player, Weather weather, TimingResult timingResult) {
-        return buildLuckResult(player, weather, timingResult, calculateLuckOfTheSea(player));
+        return calculateTotalLuck(player, weather, timingResult, 0.0);
     }
 
     /**
-     * 特定の釣り竿を指定して全ての幸運値を計算
+     * 周囲の環境条件による幸運値を加えて全ての幸運値を計算
+     * 環境条件の幸運値は天気の幸運値に合算する
      *
-     * @param player       プレイヤー
-     * @param weather      天気
-     * @param timingResult タイミング結果
-     * @param fishingRod   使用する釣り竿
+     * @param player          プレイヤー
+     * @param weather         天気
+     * @param timingResult    タイミング結果
+     * @param environmentLuck 環境条件による幸運値
      * @return 幸運計算結果
      */
-    public LuckResult calculateTotalLuckWithSpecificRod(Player player, Weather weather, TimingResult timingResult, ItemStack fishingRod) {
-        return buildLuckResult(player, weather, timingResult, calculateLuckOfTheSeaForItem(fishingRod));
+    public LuckResult calculateTotalLuck(Player player, Weather weather, TimingResult timingResult, double environmentLuck) {
+        PlayerLuckState state = plugin.getPlayerLuckCache().get(player, this::calculatePlayerLuckState);
+        return state.toResult(calculateWeatherLuck(weather) + environmentLuck, timingResult.luckBonus(),
+                plugin.getLuckContributors().evaluate(player));
+    }
+
+    /**
+     * 天気・タイミングを除いたプレイヤーの幸運状態を計算（キャッシュを使わない）
+     *
+     * @param player プレイヤー
+     * @return 幸運状態
+     */
+    public PlayerLuckState calculatePlayerLuckState(Player player) {
+        return buildLuckState(player, calculateLuckOfTheSea(player));
     }
 
     /**
-     * 宝釣りレベル以外の共通要素を集計してLuckResultを構築する
+     * 宝釣りレベル以外の共通要素を集計して幸運状態を構築する
      *
      * @param player            プレイヤー
-     * @param weather           天気
-     * @param timingResult      タイミング結果
      * @param luckOfTheSeaLevel 宝釣りエンチャントレベル
-     * @return 幸運計算結果
+     * @return 幸運状態
      */
-    private LuckResult buildLuckResult(Player player, Weather weather, TimingResult timingResult, int luckOfTheSeaLevel) {
-        return new LuckResult(
+    private PlayerLuckState buildLuckState(Player player, int luckOfTheSeaLevel) {
+        return new PlayerLuckState(
                 luckOfTheSeaLevel,
                 calculateLuckPotion(player),
                 calculateUnluckPotion(player),
                 getConduitLevel(player),
                 calculateEquipmentLuck(player),
-                calculateWeatherLuck(weather),
-                timingResult.luckBonus(),
                 player.getLevel()
         );
     }
@@ -95,16 +134,6 @@ public class LuckCalculator {
         return Math.max(mainHand.getEnchantmentLevel(Enchantment.LUCK), offHand.getEnchantmentLevel(Enchantment.LUCK));
     }
 
-    /**
-     * 特定のアイテムから宝釣りエンチャントレベルを取得
-     */
-    private int calculateLuckOfTheSeaForItem(ItemStack item) {
-        if (item == null || item.getType() != Material.FISHING_ROD) {
-            return 0;
-        }
-        return item.getEnchantmentLevel(Enchantment.LUCK);
-    }
-
     /**
      * 幸運ポーション効果を計算
      * Jobs連携の対象職業は幸運ポーションLv◯相当として扱う（加算ではなく高い方を採用）
@@ -236,14 +265,24 @@ public class LuckCalculator {
             return 0;
         }
 
-        ItemMeta meta = item.getItemMeta();
+        ItemInspection inspection = ItemInspection.of(item);
+        ItemMeta meta = inspection.meta();
         if (meta == null) {
             debugLogger.logInfo(player, "     ItemMeta is null for slot: " + slot);
             return 0;
         }
 
+        return computeItemLuck(player, inspection, slot);
+    }
+
+    /**
+     * 属性修飾子からアイテムの幸運属性値を集計する
+     */
+    private double computeItemLuck(Player player, ItemInspection inspection, EquipmentSlot slot) {
+        ItemMeta meta = inspection.meta();
+
         // アイテム名をログ出力
-        String itemName = item.getType().name();
+        String itemName = inspection.item().getType().name();
         if (meta.hasDisplayName()) {
             itemName = meta.getDisplayName();
         }
@@ -254,22 +293,6 @@ public class LuckCalculator {
             return 0;
         }
 
-        // 全属性修飾子をログ出力
-        var allModifiers = meta.getAttributeModifiers();
-        if (allModifiers != null && !allModifiers.isEmpty()) {
-            debugLogger.logInfo(player, "     All attribute modifiers:");
-            for (Map.Entry<Attribute, AttributeModifier> entry : allModifiers.entries()) {
-                debugLogger.logInfo(player, String.format(
-                        "       Attribute: %s, Modifier: %s = %.3f (Operation: %s, Slot: %s)",
-                        entry.getKey().name(), entry.getValue().getName(),
-                        entry.getValue().getAmount(), entry.getValue().getOperation(),
-                        entry.getValue().getSlot()
-                ));
-            }
-        } else {
-            debugLogger.logInfo(player, "     No attribute modifiers found");
-        }
-
         // Minecraftの属性計算仕様に従って計算
         // 参考: https://minecraft.wiki/w/Attribute#Modifiers
         // 1. ベース値（GENERIC_LUCKのデフォルトは0）
@@ -281,31 +304,26 @@ public class LuckCalculator {
         // 4. MULTIPLY_SCALAR_1 の乗算値（複数ある場合は全て乗算）
         double multiplyScalar = 1.0;
 
-        var modifiers = meta.getAttributeModifiers(Attribute.GENERIC_LUCK);
-        if (modifiers != null && !modifiers.isEmpty()) {
+        // 各演算は独立に集計されるため、修飾子は1回の走査で振り分ける
+        var modifiers = inspection.luckModifiers();
+        if (!modifiers.isEmpty()) {
             debugLogger.logInfo(player, "     Found " + modifiers.size() + " luck modifiers");
 
-            // まず ADD_NUMBER を処理
             for (AttributeModifier modifier : modifiers) {
-                if (modifier.getSlot() == null || modifier.getSlot() == slot) {
-                    double modifierValue = modifier.getAmount();
+                if (modifier.getSlot() != null && modifier.getSlot() != slot) {
+                    continue;
+                }
+                double modifierValue = modifier.getAmount();
 
-                    if (modifier.getOperation() == AttributeModifier.Operation.ADD_NUMBER) {
+                switch (modifier.getOperation()) {
+                    case ADD_NUMBER -> {
                         debugLogger.logInfo(player, String.format(
                                 "     ADD_NUMBER modifier: %s = %.3f",
                                 modifier.getName(), modifierValue
                         ));
                         addNumber += modifierValue;
                     }
-                }
-            }
-
-            // 次に ADD_SCALAR を処理（ベース値にパーセント加算）
-            for (AttributeModifier modifier : modifiers) {
-                if (modifier.getSlot() == null || modifier.getSlot() == slot) {
-                    double modifierValue = modifier.getAmount();
-
-                    if (modifier.getOperation() == AttributeModifier.Operation.ADD_SCALAR) {
+                    case ADD_SCALAR -> {
                         debugLogger.logInfo(player, String.format(
                                 "     ADD_SCALAR modifier: %s = %.3f (%.0f%%)",
                                 modifier.getName(), modifierValue, modifierValue * 100
@@ -314,15 +332,7 @@ public class LuckCalculator {
                         // 例: value=1.0 なら +100%
                         addScalar += modifierValue;
                     }
-                }
-            }
-
-            // 最後に MULTIPLY_SCALAR_1 を処理
-            for (AttributeModifier modifier : modifiers) {
-                if (modifier.getSlot() == null || modifier.getSlot() == slot) {
-                    double modifierValue = modifier.getAmount();
-
-                    if (modifier.getOperation() == AttributeModifier.Operation.MULTIPLY_SCALAR_1) {
+                    case MULTIPLY_SCALAR_1 -> {
                         debugLogger.logInfo(player, String.format(
                                 "     MULTIPLY_SCALAR_1 modifier: %s = %.3f (×%.1f)",
                                 modifier.getName(), modifierValue, (1 + modifierValue)
@@ -387,26 +397,21 @@ public class LuckCalculator {
      * @return タイミング結果
      */
     public TimingResult calculateTimingResult(long reactionTimeMs) {
-        if (!plugin.getConfig().getBoolean("timing_system.enabled", true)) {
+        TimingTable table = timingTable;
+        if (!table.enabled()) {
             return TimingResult.miss();
         }
 
-        double baseLuckBonus = plugin.getConfig().getDouble("timing_system.base_luck_bonus", 1.5);
-
         // タイミングティアを素早い順にチェック
-        String[] tierNames = {"just", "perfect", "great", "good"};
-
-        for (String tierName : tierNames) {
-            String configPath = "timing_system.tiers." + tierName;
-            double maxTimeMs = plugin.getConfig().getDouble(configPath + ".max_time_ms", Double.MAX_VALUE);
-            double bonusMultiplier = plugin.getConfig().getDouble(configPath + ".bonus_multiplier", 0);
-            TimingTier tier = new TimingTier(tierName, maxTimeMs, bonusMultiplier);
+        for (TimingTier tier : table.tiers()) {
             if (tier.matches(reactionTimeMs)) {
-                double luckBonus = tier.calculateLuckBonus(baseLuckBonus);
-                return TimingResult.success(tier, reactionTimeMs, luckBonus);
+                return TimingResult.success(tier, reactionTimeMs, tier.calculateLuckBonus(table.baseLuckBonus()));
             }
         }
         return TimingResult.miss();
     }
 
+    private record TimingTable(boolean enabled, double baseLuckBonus, List<TimingTier> tiers) {
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package io.wax100.customizeFishing.luck;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+
+import java.util.Set;
+
+/**
+ * 他プラグインから幸運値を追加するためのインターフェース
+ * <p>
+ * {@link LuckContributors#register} で登録すると、釣果と幸運値表示の総合幸運値に加算される。
+ * 値はプレイヤーごとにキャッシュされ、{@link #getInvalidationEvents()} のイベント、
+ * {@link LuckContributors#invalidate}、または {@link #getCacheTtlMillis()} の経過で取得し直す。
+ * 呼び出しはメインスレッドから行われ、latency_budget_ms を連続して超えた場合は無効化される。
+ */
+public interface LuckContributor {
+
+    /**
+     * 一意なID（デバッグ表示・統計で使用、例: "pets"）
+     *
+     * @return ID
+     */
+    String getId();
+
+    /**
+     * プレイヤーの幸運値を計算する
+     *
+     * @param player プレイヤー
+     * @return 総合幸運値に加算する値（パーセンテージ、負の値も可）
+     */
+    double getLuck(Player player);
+
+    /**
+     * キャッシュの最大保持時間
+     *
+     * @return ミリ秒（0以下はキャッシュしない）
+     */
+    default long getCacheTtlMillis() {
+        return 5000L;
+    }
+
+    /**
+     * キャッシュを破棄するイベント
+     * プレイヤーのイベント（PlayerEvent、プレイヤーの EntityEvent）はそのプレイヤーの値のみ、
+     * それ以外のイベントは全プレイヤーの値を破棄する
+     *
+     * @return イベントクラスのセット
+     */
+    default Set<Class<? extends Event>> getInvalidationEvents() {
+        return Set.of();
+    }
+}
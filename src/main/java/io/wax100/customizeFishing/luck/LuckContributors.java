@@ -0,0 +1,273 @@
+package io.wax100.customizeFishing.luck;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 他プラグインから登録された {@link LuckContributor} の管理とキャッシュ。
+ * <p>
+ * 値はプレイヤー・登録ごとにキャッシュし、各呼び出しの時間を計測する。
+ * luck_contributors.latency_budget_ms を超えた呼び出し（例外を含む）が max_violations 回連続した登録は
+ * 無効化し、設定リロードまで呼び出さない。予算内で成功した呼び出しで連続回数は0に戻る。登録元のプラグインが無効化されたときは登録を解除する。
+ */
+public class LuckContributors implements Listener {
+
+    private final CustomizeFishing plugin;
+    private final Map<String, Registration> registrations = new LinkedHashMap<>();
+    // luck_contributors の設定
+    private long budgetNanos;
+    private int maxViolations;
+
+    public LuckContributors(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * 幸運値の提供元を登録する（同じIDの登録は置き換える）
+     *
+     * @param owner       登録元のプラグイン
+     * @param contributor 提供元
+     */
+    public void register(Plugin owner, LuckContributor contributor) {
+        unregister(contributor.getId());
+
+        Registration registration = new Registration(owner, contributor);
+        for (Class<? extends Event> eventClass : contributor.getInvalidationEvents()) {
+            plugin.getServer().getPluginManager().registerEvent(eventClass, registration.listener, EventPriority.MONITOR,
+                    (listener, event) -> {
+                        if (eventClass.isInstance(event)) {
+                            registration.invalidate(getEventPlayer(event));
+                        }
+                    }, owner, true);
+        }
+        registrations.put(contributor.getId(), registration);
+        plugin.getLogger().info("幸運値の提供元を登録しました: " + contributor.getId() + " (" + owner.getName() + ")");
+    }
+
+    /**
+     * 幸運値の提供元の登録を解除する
+     *
+     * @param id 提供元のID
+     */
+    public void unregister(String id) {
+        Registration registration = registrations.remove(id);
+        if (registration != null) {
+            HandlerList.unregisterAll(registration.listener);
+        }
+    }
+
+    /**
+     * 提供元のキャッシュを破棄する（提供元の値が変わったときに呼び出す）
+     *
+     * @param id     提供元のID
+     * @param player プレイヤー（nullの場合は全プレイヤー）
+     */
+    public void invalidate(String id, Player player) {
+        Registration registration = registrations.get(id);
+        if (registration != null) {
+            registration.invalidate(player);
+        }
+    }
+
+    /**
+     * 有効な全提供元の値を取得する
+     *
+     * @param player プレイヤー
+     * @return 提供元ID → 幸運値（0の提供元は含まない、登録順）
+     */
+    public Map<String, Double> evaluate(Player player) {
+        if (registrations.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Registration registration : registrations.values()) {
+            if (registration.disabled) {
+                continue;
+            }
+            double luck = registration.get(player);
+            if (luck != 0) {
+                values.put(registration.contributor.getId(), luck);
+            }
+        }
+        return values.isEmpty() ? Map.of() : Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * 設定を読み直してキャッシュを破棄し、無効化した提供元を再び有効にする（設定リロード時）
+     */
+    public void reload() {
+        Configuration config = plugin.getConfig();
+        budgetNanos = (long) (config.getDouble("luck_contributors.latency_budget_ms", 2.0) * 1_000_000L);
+        maxViolations = Math.max(1, config.getInt("luck_contributors.max_violations", 3));
+        for (Registration registration : registrations.values()) {
+            registration.values.clear();
+            registration.settleGuard.clear();
+            registration.violations = 0;
+            registration.disabled = false;
+        }
+    }
+
+    /**
+     * 統計表示用の登録一覧
+     */
+    public List<ContributorStats> getStats() {
+        List<ContributorStats> stats = new ArrayList<>();
+        for (Registration registration : registrations.values()) {
+            stats.add(new ContributorStats(
+                    registration.contributor.getId(),
+                    registration.calls,
+                    registration.calls == 0 ? 0.0 : registration.totalNanos / 1_000.0 / registration.calls,
+                    registration.maxNanos / 1_000.0,
+                    registration.disabled
+            ));
+        }
+        return stats;
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        for (Registration registration : registrations.values()) {
+            registration.values.remove(playerId);
+            registration.settleGuard.forget(playerId);
+        }
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        List<Registration> owned = new ArrayList<>();
+        for (Registration registration : registrations.values()) {
+            if (registration.owner == event.getPlugin()) {
+                owned.add(registration);
+            }
+        }
+        for (Registration registration : owned) {
+            unregister(registration.contributor.getId());
+        }
+    }
+
+    private static Player getEventPlayer(Event event) {
+        if (event instanceof PlayerEvent playerEvent) {
+            return playerEvent.getPlayer();
+        }
+        if (event instanceof EntityEvent entityEvent && entityEvent.getEntity() instanceof Player player) {
+            return player;
+        }
+        return null;
+    }
+
+    /**
+     * 登録1件分の状態（キャッシュ・計測）
+     */
+    private final class Registration {
+
+        private final Plugin owner;
+        private final LuckContributor contributor;
+        // 無効化イベントの登録用（登録解除でまとめて解除する）
+        private final Listener listener = new Listener() {
+        };
+        private final Map<UUID, CachedValue> values = new HashMap<>();
+        private final SettleGuard settleGuard = new SettleGuard(plugin);
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+        // 連続した遅延・エラーの回数
+        private int violations;
+        private boolean disabled;
+
+        private Registration(Plugin owner, LuckContributor contributor) {
+            this.owner = owner;
+            this.contributor = contributor;
+        }
+
+        private double get(Player player) {
+            UUID playerId = player.getUniqueId();
+            long now = System.nanoTime();
+            long ttlNanos = contributor.getCacheTtlMillis() * 1_000_000L;
+
+            CachedValue cached = values.get(playerId);
+            if (cached != null && now - cached.computedAt() < ttlNanos) {
+                return cached.luck();
+            }
+
+            double luck;
+            boolean failed = false;
+            try {
+                luck = contributor.getLuck(player);
+                if (!Double.isFinite(luck)) {
+                    luck = 0;
+                }
+            } catch (Throwable t) {
+                plugin.getLogger().warning("幸運値の提供元 " + contributor.getId() + " でエラーが発生しました: " + t);
+                luck = 0;
+                failed = true;
+            }
+
+            long elapsed = System.nanoTime() - now;
+            calls++;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+            if (failed || elapsed > budgetNanos) {
+                violations++;
+                if (violations >= maxViolations) {
+                    disabled = true;
+                    plugin.getLogger().warning(String.format("幸運値の提供元 %s を無効化しました（%d回連続の遅延・エラー、直近 %.2fms）",
+                            contributor.getId(), violations, elapsed / 1_000_000.0));
+                }
+            } else {
+                violations = 0;
+            }
+
+            if (ttlNanos > 0 && settleGuard.isSettled(playerId)) {
+                values.put(playerId, new CachedValue(luck, now));
+            }
+            return luck;
+        }
+
+        private void invalidate(Player player) {
+            if (player == null) {
+                values.clear();
+                settleGuard.invalidateAll();
+                return;
+            }
+            values.remove(player.getUniqueId());
+            settleGuard.invalidate(player.getUniqueId());
+        }
+    }
+
+    private record CachedValue(double luck, long computedAt) {
+    }
+
+    /**
+     * 提供元ごとの統計
+     *
+     * @param id            提供元のID
+     * @param calls         呼び出し回数
+     * @param averageMicros 平均時間（マイクロ秒）
+     * @param maxMicros     最大時間（マイクロ秒）
+     * @param disabled      無効化されているか
+     */
+    public record ContributorStats(String id, long calls, double averageMicros, double maxMicros, boolean disabled) {
+    }
+}
@@ -0,0 +1,152 @@
+package io.wax100.customizeFishing.luck;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.debug.DebugLogger;
+import io.wax100.customizeFishing.effects.ActionBarCompositor;
+import io.wax100.customizeFishing.enums.Weather;
+import io.wax100.customizeFishing.timing.TickClock;
+import io.wax100.customizeFishing.timing.TimingResult;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 釣り竿を持っているプレイヤーのアクションバーに幸運値を表示し続けるクラス。
+ * <p>
+ * {@link TickClock} の共有タスクで update_interval ごとに表示を更新する。プレイヤーはUUIDで
+ * update_interval 個の組に振り分け、毎tick 1組ずつ処理するため、更新が同じtickに集中しない。
+ * 表示は {@link ActionBarCompositor} に最も低い優先度で渡すため、釣果メッセージの表示中は上書きしない
+ * （内容が変わらない場合の送信の省略と、消える前の送り直しも {@link ActionBarCompositor} が行う）。
+ */
+public class LuckHud implements Runnable {
+
+    private final CustomizeFishing plugin;
+    private final LuckCalculator luckCalculator;
+    // 持ち替え直後など、組の順番を待たずに次のtickで更新するプレイヤー
+    private final Set<UUID> pendingUpdates = new LinkedHashSet<>();
+    private long tick;
+    // luck_display セクションの設定
+    private boolean enabled;
+    private boolean showDetails;
+    private int updateInterval;
+
+    public LuckHud(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        this.luckCalculator = new LuckCalculator(plugin, new DebugLogger(plugin));
+        loadSettings();
+    }
+
+    /**
+     * 表示と幸運値計算の設定を読み直す
+     */
+    public void reload() {
+        loadSettings();
+        luckCalculator.reload();
+    }
+
+    /**
+     * 毎tickの処理として共有タスクに登録する
+     */
+    public void start() {
+        plugin.getTickClock().addTickTask(this);
+    }
+
+    /**
+     * 組の順番を待たずに次のtickで表示を更新する
+     *
+     * @param player プレイヤー
+     */
+    public void requestUpdate(Player player) {
+        pendingUpdates.add(player.getUniqueId());
+    }
+
+    /**
+     * ログアウトしたプレイヤーの表示状態を破棄する
+     *
+     * @param player プレイヤー
+     */
+    public void forget(Player player) {
+        pendingUpdates.remove(player.getUniqueId());
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        if (!enabled) {
+            pendingUpdates.clear();
+            return;
+        }
+
+        if (!pendingUpdates.isEmpty()) {
+            for (UUID playerId : pendingUpdates) {
+                Player player = plugin.getServer().getPlayer(playerId);
+                if (player != null) {
+                    update(player);
+                }
+            }
+            pendingUpdates.clear();
+        }
+
+        long bucket = tick % updateInterval;
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            if (Math.floorMod(player.getUniqueId().hashCode(), updateInterval) == bucket) {
+                update(player);
+            }
+        }
+    }
+
+    /**
+     * プレイヤーの幸運値表示を更新する
+     *
+     * @param player プレイヤー
+     */
+    private void update(Player player) {
+        if (!isHoldingFishingRod(player)) {
+            plugin.getActionBarCompositor().hide(player, ActionBarCompositor.Priority.LUCK_HUD);
+            return;
+        }
+
+        try {
+            Weather weather = plugin.getBiomeWeather().resolve(player.getLocation());
+            LuckResult luckResult = luckCalculator.calculateTotalLuck(player, weather, TimingResult.miss());
+            String message = render(luckResult.getTotalLuck(plugin), luckResult);
+            // 次の更新まで表示を保持する
+            plugin.getActionBarCompositor().show(player, ActionBarCompositor.Priority.LUCK_HUD, message, updateInterval + 1L);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to display luck value for player " + player.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private String render(double totalLuck, LuckResult luckResult) {
+        String message = ChatColor.GOLD + "幸運値: " + ChatColor.YELLOW + String.format("%.1f", totalLuck);
+        if (!showDetails) {
+            return message;
+        }
+
+        message += ChatColor.GRAY + " (" +
+                ChatColor.AQUA + "宝釣り:" + luckResult.luckOfTheSeaLevel() +
+                ChatColor.GREEN + " ポーション:" + (luckResult.luckPotionLevel() - luckResult.unluckPotionLevel()) +
+                ChatColor.LIGHT_PURPLE + " 装備:" + String.format("%.1f", luckResult.equipmentLuck()) +
+                ChatColor.BLUE + " 天気:" + String.format("%.1f", luckResult.weatherLuck()) +
+                (luckResult.contributions().isEmpty() ? "" : ChatColor.WHITE + " その他:" + String.format("%.1f", luckResult.getContributionLuck())) +
+                ChatColor.GRAY + ")";
+        return message;
+    }
+
+    private boolean isHoldingFishingRod(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        return inventory.getItemInMainHand().getType() == Material.FISHING_ROD
+                || inventory.getItemInOffHand().getType() == Material.FISHING_ROD;
+    }
+
+    private void loadSettings() {
+        enabled = plugin.getConfig().getBoolean("luck_display.enabled", true);
+        showDetails = plugin.getConfig().getBoolean("luck_display.show_details", true);
+        updateInterval = Math.max(1, plugin.getConfig().getInt("luck_display.update_interval", 20));
+    }
+}
@@ -2,8 +2,11 @@ package io.wax100.customizeFishing.luck;
 
 import io.wax100.customizeFishing.CustomizeFishing;
 
+import java.util.Map;
+
 /**
  * 幸運値の計算結果を保持するレコード
+ * contributions は他プラグインの {@link LuckContributor} による幸運値（提供元ID → 値）
  */
 public record LuckResult(
         int luckOfTheSeaLevel,
@@ -13,7 +16,8 @@ public record LuckResult(
         double equipmentLuck,
         double weatherLuck,
         double timingLuck,
-        int experienceLevel
+        int experienceLevel,
+        Map<String, Double> contributions
 ) {
 
     /**
@@ -154,6 +158,19 @@ public record LuckResult(
         return bonus;
     }
 
+    /**
+     * 他プラグインの提供元による幸運値の合計
+     *
+     * @return 幸運値（パーセンテージ）
+     */
+    public double getContributionLuck() {
+        double sum = 0;
+        for (double luck : contributions.values()) {
+            sum += luck;
+        }
+        return sum;
+    }
+
     /**
      * 総合幸運値を計算
      *
@@ -162,7 +179,7 @@ public record LuckResult(
      */
     public double getTotalLuck(CustomizeFishing plugin) {
         // 基本的な幸運値計算
-        double baseLuck = getLuckOfTheSeaBonus(plugin) + getEquipmentBonus(plugin) + weatherLuck + timingLuck + getExperienceBonus(plugin);
+        double baseLuck = getLuckOfTheSeaBonus(plugin) + getEquipmentBonus(plugin) + weatherLuck + timingLuck + getExperienceBonus(plugin) + getContributionLuck();
 
         // 幸運と不幸の相殺計算
         double potionLuck = getLuckPotionBonus(plugin) + getUnluckPotionPenalty(plugin);
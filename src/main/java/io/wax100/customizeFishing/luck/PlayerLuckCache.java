@@ -0,0 +1,113 @@
+package io.wax100.customizeFishing.luck;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * プレイヤーごとの幸運状態（装備・ポーション・Jobs・経験値レベル・宝釣り）のキャッシュ。
+ * <p>
+ * 幸運状態の入力はめったに変わらないのに対し、釣果と幸運値表示のたびに読まれるため、
+ * 装備変更やポーション効果の変化などのイベントで無効化されるまで計算結果を使い回す。
+ * 天気とタイミングは釣果ごとに変わるため、キャッシュせず呼び出し側で毎回反映する。
+ */
+public class PlayerLuckCache {
+
+    private final CustomizeFishing plugin;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final SettleGuard settleGuard;
+    private long hits;
+    private long misses;
+    private long invalidations;
+    // イベントで捕捉できない変化（Jobsのレベルアップなど）に備えた状態の最大保持時間
+    private long maxAgeNanos;
+
+    public PlayerLuckCache(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        this.settleGuard = new SettleGuard(plugin);
+        reload();
+    }
+
+    /**
+     * キャッシュ済みの幸運状態を取得する。無い・古い場合は計算してキャッシュする
+     *
+     * @param player  プレイヤー
+     * @param compute キャッシュミス時の計算処理
+     * @return 幸運状態
+     */
+    public PlayerLuckState get(Player player, Function<Player, PlayerLuckState> compute) {
+        UUID playerId = player.getUniqueId();
+        long now = System.nanoTime();
+
+        Entry entry = entries.get(playerId);
+        if (entry != null && now - entry.computedAt() < maxAgeNanos) {
+            hits++;
+            return entry.state();
+        }
+
+        misses++;
+        PlayerLuckState state = compute.apply(player);
+        if (settleGuard.isSettled(playerId)) {
+            entries.put(playerId, new Entry(state, now));
+        }
+        return state;
+    }
+
+    /**
+     * プレイヤーの幸運状態を無効化する
+     *
+     * @param player プレイヤー
+     */
+    public void invalidate(Player player) {
+        UUID playerId = player.getUniqueId();
+        entries.remove(playerId);
+        settleGuard.invalidate(playerId);
+        invalidations++;
+    }
+
+    /**
+     * ログアウトしたプレイヤーの状態を破棄する
+     *
+     * @param player プレイヤー
+     */
+    public void forget(Player player) {
+        entries.remove(player.getUniqueId());
+        settleGuard.forget(player.getUniqueId());
+    }
+
+    /**
+     * 最大保持時間を読み直し、全プレイヤーの状態を破棄する（設定リロード時）
+     */
+    public void reload() {
+        maxAgeNanos = plugin.getConfig().getLong("luck_cache.max_age_ms", 5000L) * 1_000_000L;
+        entries.clear();
+        settleGuard.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * キャッシュヒット率（0.0〜1.0）
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private record Entry(PlayerLuckState state, long computedAt) {
+    }
+}
@@ -0,0 +1,38 @@
+package io.wax100.customizeFishing.luck;
+
+import java.util.Map;
+
+/**
+ * 天気・タイミングを除いた、プレイヤー自身の幸運状態を保持するレコード
+ */
+public record PlayerLuckState(
+        int luckOfTheSeaLevel,
+        int luckPotionLevel,
+        int unluckPotionLevel,
+        int conduitLevel,
+        double equipmentLuck,
+        int experienceLevel
+) {
+
+    /**
+     * 天気・タイミング・他プラグインの幸運値を加えてLuckResultを構築する
+     *
+     * @param weatherLuck   天気による幸運値
+     * @param timingLuck    タイミングによる幸運値
+     * @param contributions 他プラグインの提供元による幸運値
+     * @return 幸運計算結果
+     */
+    public LuckResult toResult(double weatherLuck, double timingLuck, Map<String, Double> contributions) {
+        return new LuckResult(
+                luckOfTheSeaLevel,
+                luckPotionLevel,
+                unluckPotionLevel,
+                conduitLevel,
+                equipmentLuck,
+                weatherLuck,
+                timingLuck,
+                experienceLevel,
+                contributions
+        );
+    }
+}
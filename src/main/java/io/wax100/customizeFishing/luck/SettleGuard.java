@@ -0,0 +1,83 @@
+package io.wax100.customizeFishing.luck;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.timing.TickClock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * キャッシュの無効化から変更が反映されるまでを判定するクラス。
+ * <p>
+ * イベントは変更の反映前に発火するため、無効化と同じtickに計算した値はキャッシュしない。
+ * 実時間ではなく {@link TickClock} の tick 数で判定するので、サーバーが遅延して1tickが長くなっても反映前の値を残さない。
+ */
+public class SettleGuard {
+
+    private final CustomizeFishing plugin;
+    // プレイヤーごとの無効化した tick
+    private final Map<UUID, Long> invalidatedTicks = new HashMap<>();
+    // 全プレイヤーを無効化した tick
+    private long invalidatedAllTick = -1;
+
+    public SettleGuard(CustomizeFishing plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * プレイヤーの無効化を記録する
+     *
+     * @param playerId プレイヤーのUUID
+     */
+    public void invalidate(UUID playerId) {
+        invalidatedTicks.put(playerId, plugin.getTickClock().getTick());
+    }
+
+    /**
+     * 全プレイヤーの無効化を記録する
+     */
+    public void invalidateAll() {
+        invalidatedTicks.clear();
+        invalidatedAllTick = plugin.getTickClock().getTick();
+    }
+
+    /**
+     * 今計算した値をキャッシュしてよいか（無効化より後のtickか）を判定する
+     *
+     * @param playerId プレイヤーのUUID
+     * @return キャッシュしてよい場合true
+     */
+    public boolean isSettled(UUID playerId) {
+        long tick = plugin.getTickClock().getTick();
+        if (tick <= invalidatedAllTick) {
+            return false;
+        }
+        Long invalidated = invalidatedTicks.get(playerId);
+        if (invalidated == null) {
+            return true;
+        }
+        if (tick > invalidated) {
+            invalidatedTicks.remove(playerId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * ログアウトしたプレイヤーの記録を破棄する
+     *
+     * @param playerId プレイヤーのUUID
+     */
+    public void forget(UUID playerId) {
+        invalidatedTicks.remove(playerId);
+    }
+
+    /**
+     * 全ての記録を破棄する（設定リロード時）
+     */
+    public void clear() {
+        invalidatedTicks.clear();
+        invalidatedAllTick = -1;
+    }
+}
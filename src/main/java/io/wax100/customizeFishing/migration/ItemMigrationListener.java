@@ -1,6 +1,9 @@
 package io.wax100.customizeFishing.migration;
 
 import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.fishing.RodProfile;
+import io.wax100.customizeFishing.fishing.RodProfiles;
+import io.wax100.customizeFishing.item.ItemInspection;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
@@ -76,9 +79,13 @@ public class ItemMigrationListener implements Listener {
             return;
         }
 
+        // このキャストの竿プロファイルを作成（FishingListener 以降はこれを使い回す）
         Player player = event.getPlayer();
-        ItemStack rod = getFishingRod(player);
-        if (migrateIfLegendaryRod(rod)) {
+        RodProfiles rodProfiles = plugin.getRodProfiles();
+        RodProfile profile = rodProfiles.begin(player);
+        if (profile.legacyLegendaryRod()) {
+            migrate(profile.rod());
+            rodProfiles.begin(player);
             plugin.getLogger().info("[Migration] " + player.getName()
                     + " が使用した伝説釣り竿? の入れ食いを "
                     + OLD_LURE_LEVEL + " → " + NEW_LURE_LEVEL + " に変換しました");
@@ -86,55 +93,54 @@ public class ItemMigrationListener implements Listener {
     }
 
     /**
-     * プレイヤーが使用中の釣り竿を取得する（メインハンド優先）。
+     * 旧仕様の「伝説釣り竿?」（lure:127）であれば lure:-128 に変換する。
+     *
+     * @param item 検査対象アイテム
+     * @return マイグレーションを実行した場合 true
      */
-    private ItemStack getFishingRod(Player player) {
-        ItemStack mainHand = player.getInventory().getItemInMainHand();
-        if (mainHand.getType() == Material.FISHING_ROD) {
-            return mainHand;
+    private boolean migrateIfLegendaryRod(ItemStack item) {
+        if (item == null || item.getType() != Material.FISHING_ROD
+                || item.getEnchantmentLevel(Enchantment.LURE) != OLD_LURE_LEVEL) {
+            return false;
         }
-        ItemStack offHand = player.getInventory().getItemInOffHand();
-        if (offHand.getType() == Material.FISHING_ROD) {
-            return offHand;
+        if (!isLegacyLegendaryRod(ItemInspection.of(item))) {
+            return false;
         }
-        return null;
+
+        migrate(item);
+        return true;
     }
 
     /**
-     * 旧仕様の「伝説釣り竿?」（lure:127）であれば lure:-128 に変換する。
+     * 旧仕様の「伝説釣り竿?」（lure:127）かどうか。
      * <p>
      * 判定基準: アイテム名に「伝説釣り竿?」を含み、かつ入れ食いLv127。
      * 伝説釣り竿?を狙い撃ちすることで、GODの釣り竿など他のlure:127アイテムを誤変換しない。
      *
-     * @param item 検査対象アイテム
-     * @return マイグレーションを実行した場合 true
+     * @param inspection 検査対象アイテムのインスペクション
+     * @return 旧仕様の伝説釣り竿?の場合 true
      */
     @SuppressWarnings("deprecation")
-    private boolean migrateIfLegendaryRod(ItemStack item) {
+    public static boolean isLegacyLegendaryRod(ItemInspection inspection) {
+        ItemStack item = inspection.item();
         if (item == null || item.getType() != Material.FISHING_ROD) {
             return false;
         }
 
         // 入れ食いが旧レベル(127)かチェック
-        int currentLure = item.getEnchantmentLevel(Enchantment.LURE);
-        if (currentLure != OLD_LURE_LEVEL) {
+        if (item.getEnchantmentLevel(Enchantment.LURE) != OLD_LURE_LEVEL) {
             return false;
         }
 
         // アイテム名に「伝説釣り竿?」を含むかチェック
-        if (!item.hasItemMeta()) {
-            return false;
-        }
-        var meta = item.getItemMeta();
-        if (meta == null || !meta.hasDisplayName()) {
-            return false;
-        }
-        if (!meta.getDisplayName().contains(LEGENDARY_ROD_NAME)) {
-            return false;
-        }
+        var meta = inspection.meta();
+        return meta != null && meta.hasDisplayName() && meta.getDisplayName().contains(LEGENDARY_ROD_NAME);
+    }
 
-        // 入れ食いを新レベル(-128)に変更
+    /**
+     * 入れ食いを新レベル(-128)に変更する
+     */
+    private void migrate(ItemStack item) {
         item.addUnsafeEnchantment(Enchantment.LURE, NEW_LURE_LEVEL);
-        return true;
     }
 }
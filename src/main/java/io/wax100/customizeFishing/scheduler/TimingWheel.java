@@ -0,0 +1,176 @@
+package io.wax100.customizeFishing.scheduler;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * プラグイン内の遅延処理をまとめて実行するハッシュ化タイミングホイール。
+ * <p>
+ * 釣果1回ごとにアニメーションの各フレームやテキストディスプレイの削除などの遅延処理が十数件発生するが、
+ * BukkitScheduler に個別に登録すると優先度付きキューへの挿入とタスクオブジェクトの生成がその都度かかる。
+ * このクラスは {@link io.wax100.customizeFishing.timing.TickClock} の共有タスクから毎tick 1回 {@link #advance()} され、
+ * {@link #SLOTS} 個のスロットを順に回す。処理は実行tick でスロットを決めた双方向リストに登録するため、
+ * 登録・キャンセルともに O(1) で済む。
+ * {@link #SLOTS} tick より先の処理は、周回数を数えながら同じスロットに置いておく。
+ * <p>
+ * 処理はすべてメインスレッドから登録・実行される前提で、同期化していない。
+ */
+public class TimingWheel {
+
+    /**
+     * スロット数（2のべき乗、20TPS で約12.8秒で1周）
+     */
+    public static final int SLOTS = 256;
+    private static final int MASK = SLOTS - 1;
+
+    private final Logger logger;
+    // スロットごとの双方向リストの先頭
+    private final Task[] heads = new Task[SLOTS];
+    private long tick;
+    private int pending;
+    // 走査中のスロットで次に処理する要素（実行中の処理がキャンセルした場合に読み飛ばすため）
+    private Task cursor;
+
+    public TimingWheel(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * 処理を指定tick後に実行する
+     *
+     * @param delayTicks 遅延tick数（1未満は次のtick）
+     * @param callback   処理
+     * @return キャンセル用のハンドル
+     */
+    public Task schedule(long delayTicks, Runnable callback) {
+        long delay = Math.max(1L, delayTicks);
+        Task task = new Task(callback, (delay - 1) / SLOTS);
+        link(task, (int) ((tick + delay) & MASK));
+        return task;
+    }
+
+    /**
+     * 処理を次のtickで実行する
+     *
+     * @param callback 処理
+     * @return キャンセル用のハンドル
+     */
+    public Task nextTick(Runnable callback) {
+        return schedule(1L, callback);
+    }
+
+    /**
+     * 1tick進め、実行tickになった処理を実行する
+     */
+    public void advance() {
+        tick++;
+        // 実行中に同じスロットへ登録された処理は先頭に入るため、今回の走査には含まれない
+        Task task = heads[(int) (tick & MASK)];
+        while (task != null) {
+            cursor = task.next;
+            if (task.rounds > 0) {
+                task.rounds--;
+            } else {
+                unlink(task);
+                try {
+                    task.callback.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "遅延処理の実行中にエラーが発生しました", e);
+                }
+            }
+            task = cursor;
+        }
+    }
+
+    /**
+     * 実行待ちの処理数
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * 実行待ちの処理をすべて破棄する（プラグイン無効化時）
+     */
+    public void clear() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Task task = heads[slot];
+            while (task != null) {
+                Task next = task.next;
+                task.prev = null;
+                task.next = null;
+                task.slot = -1;
+                task = next;
+            }
+            heads[slot] = null;
+        }
+        cursor = null;
+        pending = 0;
+    }
+
+    private void link(Task task, int slot) {
+        Task head = heads[slot];
+        task.slot = slot;
+        task.next = head;
+        if (head != null) {
+            head.prev = task;
+        }
+        heads[slot] = task;
+        pending++;
+    }
+
+    private void unlink(Task task) {
+        if (task == cursor) {
+            cursor = task.next;
+        }
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            heads[task.slot] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.prev = null;
+        task.next = null;
+        task.slot = -1;
+        pending--;
+    }
+
+    /**
+     * 登録した遅延処理のハンドル
+     */
+    public final class Task {
+
+        private final Runnable callback;
+        private long rounds;
+        private int slot = -1;
+        private Task prev;
+        private Task next;
+
+        private Task(Runnable callback, long rounds) {
+            this.callback = callback;
+            this.rounds = rounds;
+        }
+
+        /**
+         * 実行前であればキャンセルする
+         *
+         * @return キャンセルした場合true（実行済み・キャンセル済みの場合false）
+         */
+        public boolean cancel() {
+            if (slot < 0) {
+                return false;
+            }
+            unlink(this);
+            return true;
+        }
+
+        /**
+         * 実行待ちかどうか
+         */
+        public boolean isPending() {
+            return slot >= 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.wax100.customizeFishing.timing;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.ChatColor;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.entity.Player;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * プレイヤーごとの反応時間の分布から自動クリック（マクロ）を検出するクラス。
+ * <p>
+ * 反応時間は {@link ReactionSketch} に記録し、分布が人間の操作として不自然になったプレイヤーは
+ * タイミングボーナスを無効にし、customizefishing.alerts を持つプレイヤーとログに通知する。
+ * 分布が自然に戻れば（スケッチの減衰で古い記録の重みが下がれば）自動的に解除する。
+ * <p>
+ * 再ログインで記録と判定をやり直せないよう、ログアウト後も記録を残す。
+ * 記録するプレイヤー数には上限を設け、最も長く釣りをしていないプレイヤーから破棄する。
+ */
+public class ReactionMonitor {
+
+    private static final int MAX_TRACKED_PLAYERS = 1024;
+
+    private final CustomizeFishing plugin;
+    // プレイヤー → 反応時間の記録（アクセス順のLRU）
+    private final Map<UUID, ReactionSketch> sketches = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, ReactionSketch> eldest) {
+            if (size() > MAX_TRACKED_PLAYERS) {
+                flagged.remove(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Set<UUID> flagged = new HashSet<>();
+    // timing_system.anti_macro の設定
+    private boolean enabled;
+    private int minSamples;
+    private long minHumanMs;
+    private double maxFastRatio;
+    private double minSpread;
+
+    public ReactionMonitor(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * 反応時間を記録し、プレイヤーのタイミングボーナスを無効にすべきかを返す
+     *
+     * @param player         プレイヤー
+     * @param reactionTimeMs 反応時間（ミリ秒）
+     * @return 不自然な分布と判定されている場合true
+     */
+    public boolean record(Player player, long reactionTimeMs) {
+        if (!enabled) {
+            return false;
+        }
+
+        UUID playerId = player.getUniqueId();
+        ReactionSketch sketch = sketches.computeIfAbsent(playerId, k -> new ReactionSketch());
+        sketch.record(reactionTimeMs);
+
+        boolean implausible = sketch.isImplausible(minSamples, minHumanMs, maxFastRatio, minSpread);
+        if (implausible && flagged.add(playerId)) {
+            alert(player, sketch);
+        } else if (!implausible && flagged.remove(playerId)) {
+            plugin.getLogger().info("反応時間の分布が通常に戻ったため " + player.getName() + " のタイミングボーナスを再開します");
+        }
+        return implausible;
+    }
+
+    /**
+     * 不自然な分布と判定されているプレイヤー数
+     */
+    public int getFlaggedCount() {
+        return flagged.size();
+    }
+
+    /**
+     * 記録しているプレイヤー数
+     */
+    public int getTrackedCount() {
+        return sketches.size();
+    }
+
+    /**
+     * 設定を読み直し、すべての記録と判定を破棄する（設定リロード時）
+     */
+    public void reload() {
+        Configuration config = plugin.getConfig();
+        enabled = config.getBoolean("timing_system.anti_macro.enabled", true);
+        minSamples = Math.max(1, config.getInt("timing_system.anti_macro.min_samples", 20));
+        minHumanMs = config.getLong("timing_system.anti_macro.min_human_ms", 100L);
+        maxFastRatio = config.getDouble("timing_system.anti_macro.max_fast_ratio", 0.5);
+        minSpread = config.getDouble("timing_system.anti_macro.min_spread", 0.1);
+        sketches.clear();
+        flagged.clear();
+    }
+
+    private void alert(Player player, ReactionSketch sketch) {
+        String message = String.format("%s の釣りの反応時間が不自然です（中央値 %.0fms、%dms未満 %.0f%%）。タイミングボーナスを無効にしました",
+                player.getName(), sketch.quantile(0.5), minHumanMs, sketch.fractionBelow(minHumanMs) * 100);
+        plugin.getLogger().warning(message);
+        for (Player online : plugin.getServer().getOnlinePlayers()) {
+            if (online.hasPermission("customizefishing.alerts")) {
+                online.sendMessage(ChatColor.RED + "[CustomizeFishing] " + ChatColor.YELLOW + message);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.wax100.customizeFishing.timing;
+
+/**
+ * 1人分の反応時間の分布を一定のメモリで保持するスケッチ。
+ * <p>
+ * 反応時間を対数スケールのバケット（隣り合うバケットの境界比 {@link #GAMMA}）で数えるため、
+ * 分位点は約 ±7% の相対誤差で求められる。件数が {@link #DECAY_AT} に達するたびに全バケットを半分にし、
+ * 古い記録ほど重みを下げる。バケット数は固定のため、記録件数に関わらず使用量は int 64個分。
+ */
+public class ReactionSketch {
+
+    static final int BUCKETS = 64;
+    // バケットの境界比（1ms × 1.15^63 ≒ 6.6秒までを区別し、それ以上は最後のバケット）
+    static final double GAMMA = 1.15;
+    static final int DECAY_AT = 256;
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final int[] counts = new int[BUCKETS];
+    private int total;
+
+    /**
+     * 反応時間を記録する
+     *
+     * @param reactionTimeMs 反応時間（ミリ秒）
+     */
+    public void record(long reactionTimeMs) {
+        counts[bucketOf(reactionTimeMs)]++;
+        total++;
+        if (total >= DECAY_AT) {
+            decay();
+        }
+    }
+
+    /**
+     * 現在の重み付き件数
+     */
+    public int getCount() {
+        return total;
+    }
+
+    /**
+     * 分位点を求める
+     *
+     * @param q 分位（0.0〜1.0）
+     * @return 反応時間（ミリ秒、バケットの幾何平均）、記録が無い場合は-1
+     */
+    public double quantile(double q) {
+        if (total == 0) {
+            return -1;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * q));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return representative(i);
+            }
+        }
+        return representative(BUCKETS - 1);
+    }
+
+    /**
+     * 指定した時間より速い反応の割合
+     *
+     * @param thresholdMs しきい値（ミリ秒）
+     * @return 割合（0.0〜1.0、バケット単位で判定）
+     */
+    public double fractionBelow(long thresholdMs) {
+        if (total == 0) {
+            return 0.0;
+        }
+        int limit = bucketOf(thresholdMs);
+        long below = 0;
+        for (int i = 0; i < limit; i++) {
+            below += counts[i];
+        }
+        return (double) below / total;
+    }
+
+    /**
+     * 人間の操作としてあり得ない分布かどうかを判定する
+     * しきい値より速い反応が多すぎる、またはばらつきが小さすぎる（一定間隔のマクロ）場合にtrue
+     *
+     * @param minSamples   判定に必要な件数
+     * @param minHumanMs   人間の反応として速すぎる時間（ミリ秒）
+     * @param maxFastRatio minHumanMs より速い反応の許容割合
+     * @param minSpread    (p90 - p10) / p50 の下限
+     * @return 不自然な分布の場合true
+     */
+    public boolean isImplausible(int minSamples, long minHumanMs, double maxFastRatio, double minSpread) {
+        if (total < minSamples) {
+            return false;
+        }
+        if (fractionBelow(minHumanMs) > maxFastRatio) {
+            return true;
+        }
+        double p50 = quantile(0.5);
+        return p50 > 0 && (quantile(0.9) - quantile(0.1)) / p50 < minSpread;
+    }
+
+    private void decay() {
+        total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] >>= 1;
+            total += counts[i];
+        }
+    }
+
+    static int bucketOf(long reactionTimeMs) {
+        if (reactionTimeMs < 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, 1 + (long) (Math.log(reactionTimeMs) / LOG_GAMMA));
+    }
+
+    private static double representative(int bucket) {
+        if (bucket == 0) {
+            return 0.5;
+        }
+        // バケット [GAMMA^(i-1), GAMMA^i) の幾何平均
+        return Math.pow(GAMMA, bucket - 0.5);
+    }
+}
@@ -0,0 +1,107 @@
+package io.wax100.customizeFishing.timing;
+
+import io.wax100.customizeFishing.scheduler.TimingWheel;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * サーバーのtick数と tick の間隔を記録するクラス。
+ * <p>
+ * 毎tick 1回だけ実行される共有タスクで tick 数を進める。
+ * tick の間隔が 50ms を超えた分（サーバーの遅延）を累計しておき、2つのイベントの時点の累計の差から
+ * その間の遅延を求められる（tick の途中で起きたイベントでも、tick 内の経過時間は遅延に含まれない）。
+ * 各 tick の開始時刻（System.nanoTime）から tick の間隔の移動平均も求め、サーバーの負荷の目安にする
+ * （20TPS を保てていれば約50ms）。
+ * <p>
+ * プラグイン内の遅延処理（{@link TimingWheel}）と、{@link #addTickTask} で追加した毎tickの処理
+ * （アクションバーの送信・幸運値の表示・束縛アイテムの監査）も同じ共有タスクで実行し、毎tickのタスクを1つにまとめる。
+ */
+public class TickClock extends BukkitRunnable {
+
+    /**
+     * 20TPS での1tickの長さ（ナノ秒）
+     */
+    public static final long NANOS_PER_TICK = 50_000_000L;
+
+    // tick 間隔の移動平均の重み（直近約20tick）
+    private static final double INTERVAL_SMOOTHING = 0.05;
+
+    private final TimingWheel timingWheel;
+    private final Logger logger;
+    private final List<Runnable> tickTasks = new ArrayList<>();
+    private long tick;
+    private long tickStartNanos = System.nanoTime();
+    private double averageIntervalNanos = NANOS_PER_TICK;
+    // tick の間隔が 50ms を超えた分の累計
+    private long overrunNanos;
+
+    public TickClock(TimingWheel timingWheel, Logger logger) {
+        this.timingWheel = timingWheel;
+        this.logger = logger;
+    }
+
+    /**
+     * 毎tick実行する処理を追加する（遅延処理の後に、追加した順で実行する）
+     *
+     * @param task 処理
+     */
+    public void addTickTask(Runnable task) {
+        tickTasks.add(task);
+    }
+
+    /**
+     * 共有タスクを開始する（毎tick実行）
+     *
+     * @param plugin プラグイン
+     */
+    public void start(Plugin plugin) {
+        runTaskTimer(plugin, 0L, 1L);
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        if (tick > 0) {
+            long interval = now - tickStartNanos;
+            averageIntervalNanos += (interval - averageIntervalNanos) * INTERVAL_SMOOTHING;
+            overrunNanos += Math.max(0, interval - NANOS_PER_TICK);
+        }
+        tick++;
+        tickStartNanos = now;
+        timingWheel.advance();
+        for (Runnable task : tickTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "毎tickの処理の実行中にエラーが発生しました", e);
+            }
+        }
+    }
+
+    /**
+     * 開始してからのtick数
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * tick 間隔の移動平均（ミリ秒、20TPS なら約50ms）
+     */
+    public double getAverageTickMillis() {
+        return averageIntervalNanos / 1_000_000.0;
+    }
+
+    /**
+     * tick の間隔が 50ms を超えた分の累計（ナノ秒）。
+     * 2つの時点の値の差が、その間にサーバーの遅延で余分にかかった時間になる
+     */
+    public long getOverrunNanos() {
+        return overrunNanos;
+    }
+}
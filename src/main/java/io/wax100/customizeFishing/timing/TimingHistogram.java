@@ -0,0 +1,84 @@
+package io.wax100.customizeFishing.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ティアごとの反応時間の分布（ティアの max_time_ms 調整用）。
+ * <p>
+ * 0〜1000ms を 10ms 刻みのバケットで数え、1000ms 以上は最後のバケットにまとめる。
+ * 記録件数に関わらずメモリ使用量は一定。
+ */
+public class TimingHistogram {
+
+    /**
+     * タイミング外（どのティアにも該当しない）の記録に使うティア名
+     */
+    public static final String MISS = "miss";
+
+    private static final int BUCKET_MS = 10;
+    private static final int BUCKETS = 101;
+
+    // ティア名 → バケットごとの件数（登録順）
+    private final Map<String, long[]> histograms = new LinkedHashMap<>();
+
+    /**
+     * 反応時間を記録する
+     *
+     * @param tierName       ティア名（タイミング外は {@link #MISS}）
+     * @param reactionTimeMs 反応時間（ミリ秒）
+     */
+    public void record(String tierName, long reactionTimeMs) {
+        int bucket = (int) Math.min(BUCKETS - 1, Math.max(0, reactionTimeMs) / BUCKET_MS);
+        histograms.computeIfAbsent(tierName, k -> new long[BUCKETS])[bucket]++;
+    }
+
+    /**
+     * ティアごとの集計を取得する
+     *
+     * @return ティア名 → 集計（記録順）
+     */
+    public Map<String, Summary> summarize() {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        histograms.forEach((tierName, counts) -> {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            summaries.put(tierName, new Summary(total, quantile(counts, total, 0.5), quantile(counts, total, 0.9)));
+        });
+        return summaries;
+    }
+
+    /**
+     * すべての記録を破棄する
+     */
+    public void clear() {
+        histograms.clear();
+    }
+
+    /**
+     * 分位点が含まれるバケットの上限（ミリ秒）
+     */
+    private static long quantile(long[] counts, long total, double q) {
+        long target = (long) Math.ceil(total * q);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target && seen > 0) {
+                return (long) (i + 1) * BUCKET_MS;
+            }
+        }
+        return (long) BUCKETS * BUCKET_MS;
+    }
+
+    /**
+     * ティアの集計
+     *
+     * @param count 記録件数
+     * @param p50Ms 中央値（バケット上限、ミリ秒）
+     * @param p90Ms 90パーセンタイル（バケット上限、ミリ秒）
+     */
+    public record Summary(long count, long p50Ms, long p90Ms) {
+    }
+}
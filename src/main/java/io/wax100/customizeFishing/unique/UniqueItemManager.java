@@ -1,6 +1,8 @@
 package io.wax100.customizeFishing.unique;
 
 import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.item.ItemFinalization;
+import io.wax100.customizeFishing.item.ItemInspection;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -13,9 +15,10 @@ import org.bukkit.persistence.PersistentDataType;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
 public class UniqueItemManager {
 
@@ -24,6 +27,9 @@ public class UniqueItemManager {
     private final NamespacedKey uniqueKey;
     private final NamespacedKey uniqueIdKey;
     private FileConfiguration uniqueData;
+    // ユニークIDごとのビット位置と、ワールドごとの釣獲済みビット集合
+    private final Map<String, Integer> uniqueSlots = new HashMap<>();
+    private final Map<String, BitSet> caughtSlotsByWorld = new HashMap<>();
 
     public UniqueItemManager(CustomizeFishing plugin) {
         this.plugin = plugin;
@@ -41,6 +47,31 @@ public class UniqueItemManager {
             plugin.saveResource("unique_items.yml", false);
         }
         uniqueData = YamlConfiguration.loadConfiguration(uniqueDataFile);
+        rebuildCaughtSlots();
+    }
+
+    /**
+     * unique_items.ymlの内容からワールドごとの釣獲済みビット集合を再構築
+     */
+    private void rebuildCaughtSlots() {
+        caughtSlotsByWorld.clear();
+        var worlds = uniqueData.getConfigurationSection("worlds");
+        if (worlds == null) {
+            return;
+        }
+        for (String worldName : worlds.getKeys(false)) {
+            BitSet caught = caughtSlotsByWorld.computeIfAbsent(worldName, k -> new BitSet());
+            for (String uniqueId : uniqueData.getStringList("worlds." + worldName + ".caught_items")) {
+                caught.set(getSlot(uniqueId));
+            }
+        }
+    }
+
+    /**
+     * ユニークIDのビット位置を取得（未登録なら割り当てる）
+     */
+    private int getSlot(String uniqueId) {
+        return uniqueSlots.computeIfAbsent(uniqueId, k -> uniqueSlots.size());
     }
 
     /**
@@ -61,14 +92,40 @@ public class UniqueItemManager {
      * @return ユニークアイテムの場合true
      */
     public boolean isUniqueItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
-        }
+        return isUniqueItem(ItemInspection.of(item));
+    }
+
+    /**
+     * 読み取り済みのメタデータからユニークアイテムかどうかをチェック
+     *
+     * @param inspection チェックするアイテムのインスペクション
+     * @return ユニークアイテムの場合true
+     */
+    public boolean isUniqueItem(ItemInspection inspection) {
+        Byte flag = inspection.getByte(uniqueKey);
+        return flag != null && flag == 1;
+    }
+
+    /**
+     * メタデータにユニークマーカーが設定済みかチェック
+     *
+     * @param meta チェックするメタデータ
+     * @return 設定済みの場合true
+     */
+    public boolean hasUniqueMarker(ItemMeta meta) {
+        return meta.getPersistentDataContainer().has(uniqueKey, PersistentDataType.BYTE);
+    }
 
-        ItemMeta meta = item.getItemMeta();
-        PersistentDataContainer container = Objects.requireNonNull(meta).getPersistentDataContainer();
-        return container.has(uniqueKey, PersistentDataType.BYTE) &&
-                container.get(uniqueKey, PersistentDataType.BYTE) == 1;
+    /**
+     * メタデータにユニークマーカーを設定
+     *
+     * @param meta     対象のメタデータ
+     * @param uniqueId ユニークID
+     */
+    public void setUniqueMarker(ItemMeta meta, String uniqueId) {
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        container.set(uniqueKey, PersistentDataType.BYTE, (byte) 1);
+        container.set(uniqueIdKey, PersistentDataType.STRING, uniqueId);
     }
 
     /**
@@ -78,13 +135,17 @@ public class UniqueItemManager {
      * @return ユニークID、存在しない場合はnull
      */
     public String getUniqueId(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return null;
-        }
+        return getUniqueId(ItemInspection.of(item));
+    }
 
-        ItemMeta meta = item.getItemMeta();
-        PersistentDataContainer container = Objects.requireNonNull(meta).getPersistentDataContainer();
-        return container.get(uniqueIdKey, PersistentDataType.STRING);
+    /**
+     * 読み取り済みのメタデータからユニークIDを取得
+     *
+     * @param inspection ユニークアイテムのインスペクション
+     * @return ユニークID、存在しない場合はnull
+     */
+    public String getUniqueId(ItemInspection inspection) {
+        return inspection.getString(uniqueIdKey);
     }
 
     /**
@@ -95,9 +156,12 @@ public class UniqueItemManager {
      * @return 既に釣られている場合true
      */
     public boolean isItemAlreadyCaught(World world, String uniqueId) {
-        String worldName = world.getName();
-        List<String> caughtItems = uniqueData.getStringList("worlds." + worldName + ".caught_items");
-        return caughtItems.contains(uniqueId);
+        BitSet caught = caughtSlotsByWorld.get(world.getName());
+        if (caught == null) {
+            return false;
+        }
+        Integer slot = uniqueSlots.get(uniqueId);
+        return slot != null && caught.get(slot);
     }
 
     /**
@@ -117,6 +181,7 @@ public class UniqueItemManager {
             caughtItems.add(uniqueId);
             uniqueData.set(path + ".caught_items", caughtItems);
         }
+        caughtSlotsByWorld.computeIfAbsent(worldName, k -> new BitSet()).set(getSlot(uniqueId));
 
         // 釣った人の記録を保存
         uniqueData.set(path + ".items." + uniqueId + ".caught_by", player.getUniqueId().toString());
@@ -139,43 +204,31 @@ public class UniqueItemManager {
 
 
     /**
-     * ユニークアイテムにLoreを追加
+     * 仕上げ対象のアイテムがユニークIDを持っているか
      *
-     * @param item   対象のアイテム
-     * @param world  ワールド
-     * @param player 釣ったプレイヤー
-     * @return Lore追加済みのアイテム
+     * @param finalization 仕上げ処理
+     * @return ユニークIDを持つ場合true
      */
-    public ItemStack addUniqueLore(ItemStack item, World world, Player player) {
-        if (item == null || !item.hasItemMeta()) {
-            return item;
-        }
-
-        String uniqueId = getUniqueId(item);
-        if (uniqueId == null) {
-            return item;
-        }
+    public boolean hasUniqueId(ItemFinalization finalization) {
+        return finalization.item().hasItemMeta()
+                && finalization.meta().getPersistentDataContainer().has(uniqueIdKey, PersistentDataType.STRING);
+    }
 
-        ItemMeta meta = item.getItemMeta();
-        List<String> lore = Objects.requireNonNull(meta).getLore();
-        if (lore == null) {
-            lore = new ArrayList<>();
-        }
+    /**
+     * ユニークアイテムにLoreを追加
+     *
+     * @param finalization 仕上げ処理
+     */
+    public void addUniqueLore(ItemFinalization finalization) {
+        String uniqueId = finalization.meta().getPersistentDataContainer().get(uniqueIdKey, PersistentDataType.STRING);
+        World world = finalization.player().getWorld();
 
-        lore.add(0, "");
         // 既に釣られているかチェック
+        String pioneer = finalization.player().getName();
         if (isItemAlreadyCaught(world, uniqueId)) {
-            String worldName = world.getName();
-            String path = "worlds." + worldName + ".items." + uniqueId + ".caught_by_name";
-            String firstCatcher = uniqueData.getString(path);
-            lore.add(0, "§7先駆者: §f" + firstCatcher);
-        } else {
-            lore.add(0, "§7先駆者: §f" + player.getName());
+            String path = "worlds." + world.getName() + ".items." + uniqueId + ".caught_by_name";
+            pioneer = uniqueData.getString(path);
         }
-
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-
-        return item;
+        finalization.prependLore("§7先駆者: §f" + pioneer, "");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,264 @@
+package io.wax100.customizeFishing.unique;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * データパックのティア別ルートテーブル（loot_tables.path 配下）を読み込み、
+ * 各エントリの重み・品質とユニークマーカー（set_nbt の customizefishing:{unique_id}）を索引化するクラス。
+ * <p>
+ * Bukkit の LootTable API はエントリ単位の抽選を公開していないため、
+ * ここで得た重みはユニーク除外時の再抽選回数の見積もりに使う。
+ * また、ユニークマーカーを持ち得るアイテム種別を保持し、
+ * 釣果ごとのNBT読み取りをマーカーを持ち得るアイテムだけに絞る。
+ */
+public class UniqueLootIndex {
+
+    private static final Pattern UNIQUE_ID_PATTERN = Pattern.compile("customizefishing:\\{[^}]*unique_id:\"([^\"]+)\"");
+
+    private final CustomizeFishing plugin;
+    private Map<NamespacedKey, TableIndex> tables = Collections.emptyMap();
+
+    public UniqueLootIndex(CustomizeFishing plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * メインワールドの datapacks フォルダからティア別ルートテーブルを読み直す
+     */
+    public void reload() {
+        String namespace = plugin.getConfig().getString("loot_tables.namespace", "customize_fishing");
+        String path = plugin.getConfig().getString("loot_tables.path", "gameplay/fishing");
+        String prefix = "data/" + namespace + "/loot_tables/" + path + "/";
+
+        Map<NamespacedKey, TableIndex> loaded = new HashMap<>();
+        List<World> worlds = plugin.getServer().getWorlds();
+        if (!worlds.isEmpty()) {
+            File datapacks = new File(worlds.get(0).getWorldFolder(), "datapacks");
+            File[] packs = datapacks.listFiles();
+            if (packs != null) {
+                for (File pack : packs) {
+                    try {
+                        if (pack.isDirectory()) {
+                            loadDirectoryPack(pack.toPath(), prefix, namespace, loaded);
+                        } else if (pack.getName().endsWith(".zip")) {
+                            loadZipPack(pack, prefix, namespace, loaded);
+                        }
+                    } catch (IOException e) {
+                        plugin.getLogger().warning("データパックの読み込みに失敗しました: " + pack.getName() + " (" + e.getMessage() + ")");
+                    }
+                }
+            }
+        }
+
+        this.tables = loaded;
+        long uniqueCount = loaded.values().stream().mapToLong(t -> t.entries().stream().filter(LootEntry::isUnique).count()).sum();
+        plugin.getLogger().info("ユニーク索引: ルートテーブル " + loaded.size() + " 件、ユニークエントリ " + uniqueCount + " 件を読み込みました");
+    }
+
+    /**
+     * ルートテーブルの索引を取得
+     *
+     * @param lootTableKey ルートテーブルのキー
+     * @return 索引、データパックから読めなかった場合はnull
+     */
+    public TableIndex getTable(NamespacedKey lootTableKey) {
+        return tables.get(lootTableKey);
+    }
+
+    /**
+     * 指定したルートテーブルから出たアイテムがユニークマーカーを持ち得るかを判定
+     * 索引に無いテーブルや、アイテムIDを解決できないユニークエントリを含むテーブルは常にtrue
+     *
+     * @param lootTableKey ルートテーブルのキー
+     * @param type         釣れたアイテムの種類
+     * @return ユニークマーカーを持ち得る場合true
+     */
+    public boolean mayCarryUniqueMarker(NamespacedKey lootTableKey, Material type) {
+        TableIndex table = tables.get(lootTableKey);
+        return table == null || table.mayCarryUniqueMarker(type);
+    }
+
+    private void loadDirectoryPack(Path pack, String prefix, String namespace, Map<NamespacedKey, TableIndex> loaded) throws IOException {
+        Path tableDir = pack.resolve(prefix);
+        if (!Files.isDirectory(tableDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(tableDir)) {
+            for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".json"))::iterator) {
+                String relative = pack.relativize(file).toString().replace(File.separatorChar, '/');
+                try (InputStream in = Files.newInputStream(file)) {
+                    putTable(relative, prefix, namespace, in, loaded);
+                }
+            }
+        }
+    }
+
+    private void loadZipPack(File pack, String prefix, String namespace, Map<NamespacedKey, TableIndex> loaded) throws IOException {
+        try (ZipFile zip = new ZipFile(pack)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory() || !entry.getName().startsWith(prefix) || !entry.getName().endsWith(".json")) {
+                    continue;
+                }
+                try (InputStream in = zip.getInputStream(entry)) {
+                    putTable(entry.getName(), prefix, namespace, in, loaded);
+                }
+            }
+        }
+    }
+
+    private void putTable(String relativePath, String prefix, String namespace, InputStream in, Map<NamespacedKey, TableIndex> loaded) {
+        // data/<namespace>/loot_tables/<path>.json → <namespace>:<path>
+        String tablePath = relativePath.substring(("data/" + namespace + "/loot_tables/").length(), relativePath.length() - ".json".length());
+        NamespacedKey key = NamespacedKey.fromString(namespace + ":" + tablePath);
+        if (key == null) {
+            return;
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            loaded.put(key, parseTable(JsonParser.parseReader(reader)));
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            plugin.getLogger().warning("ルートテーブルの解析に失敗しました: " + key + " (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * ルートテーブルJSONを索引化する
+     * 1ロール・1プールの単純な重み付き抽選のみ厳密（exact）として扱う
+     */
+    static TableIndex parseTable(JsonElement root) {
+        List<LootEntry> entries = new ArrayList<>();
+        if (!root.isJsonObject() || !root.getAsJsonObject().has("pools")) {
+            return new TableIndex(entries, false, EnumSet.noneOf(Material.class), true);
+        }
+
+        JsonArray pools = root.getAsJsonObject().getAsJsonArray("pools");
+        boolean exact = pools.size() == 1;
+        for (JsonElement poolElement : pools) {
+            JsonObject pool = poolElement.getAsJsonObject();
+            JsonElement rolls = pool.get("rolls");
+            if (rolls == null || !rolls.isJsonPrimitive() || rolls.getAsInt() != 1 || pool.has("bonus_rolls") || pool.has("conditions")) {
+                exact = false;
+            }
+            if (!pool.has("entries")) {
+                continue;
+            }
+            for (JsonElement entryElement : pool.getAsJsonArray("entries")) {
+                JsonObject entry = entryElement.getAsJsonObject();
+                if (entry.has("conditions")) {
+                    exact = false;
+                }
+                String type = entry.has("type") ? entry.get("type").getAsString() : "";
+                String name = entry.has("name") ? entry.get("name").getAsString() : type;
+                int weight = entry.has("weight") ? entry.get("weight").getAsInt() : 1;
+                int quality = entry.has("quality") ? entry.get("quality").getAsInt() : 0;
+                entries.add(new LootEntry(name, weight, quality, findUniqueId(entry)));
+            }
+        }
+
+        Set<Material> uniqueMaterials = EnumSet.noneOf(Material.class);
+        boolean uniqueMaterialsResolved = true;
+        for (LootEntry entry : entries) {
+            if (!entry.isUnique()) {
+                continue;
+            }
+            Material material = Material.matchMaterial(entry.name());
+            if (material == null) {
+                uniqueMaterialsResolved = false;
+            } else {
+                uniqueMaterials.add(material);
+            }
+        }
+        return new TableIndex(Collections.unmodifiableList(entries), exact,
+                Collections.unmodifiableSet(uniqueMaterials), uniqueMaterialsResolved);
+    }
+
+    private static String findUniqueId(JsonObject entry) {
+        if (!entry.has("functions")) {
+            return null;
+        }
+        for (JsonElement functionElement : entry.getAsJsonArray("functions")) {
+            JsonObject function = functionElement.getAsJsonObject();
+            if (!function.has("function") || !function.get("function").getAsString().endsWith("set_nbt") || !function.has("tag")) {
+                continue;
+            }
+            Matcher matcher = UNIQUE_ID_PATTERN.matcher(function.get("tag").getAsString());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ルートテーブルの1エントリ
+     *
+     * @param name     アイテムID（またはエントリ種別）
+     * @param weight   重み
+     * @param quality  品質（幸運による重み補正）
+     * @param uniqueId ユニークID（ユニークでなければnull）
+     */
+    public record LootEntry(String name, int weight, int quality, String uniqueId) {
+
+        public boolean isUnique() {
+            return uniqueId != null;
+        }
+
+        /**
+         * バニラのルート計算式による実効重み: max(0, floor(weight + quality × luck))
+         */
+        public int effectiveWeight(float luck) {
+            return Math.max(0, (int) Math.floor(weight + quality * luck));
+        }
+    }
+
+    /**
+     * ルートテーブル1つ分の索引
+     *
+     * @param entries                 全エントリ
+     * @param exact                   1ロール・1プール・条件なしで重みから確率を厳密に計算できるか
+     * @param uniqueMaterials         ユニークエントリのアイテム種別
+     * @param uniqueMaterialsResolved ユニークエントリのアイテムIDを全てMaterialに解決できたか
+     */
+    public record TableIndex(List<LootEntry> entries, boolean exact, Set<Material> uniqueMaterials,
+                             boolean uniqueMaterialsResolved) {
+
+        /**
+         * このテーブルから出た指定種別のアイテムがユニークマーカーを持ち得るか
+         */
+        public boolean mayCarryUniqueMarker(Material type) {
+            return !uniqueMaterialsResolved || uniqueMaterials.contains(type);
+        }
+    }
+}
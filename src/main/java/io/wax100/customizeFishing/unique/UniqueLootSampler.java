@@ -0,0 +1,82 @@
+package io.wax100.customizeFishing.unique;
+
+import org.bukkit.World;
+
+/**
+ * 釣獲済みユニークを除外した抽選の計画を立てるクラス
+ * <p>
+ * 除外後の分布は「同じテーブルを引き直し、釣獲済みユニークだけを棄却する」ことで
+ * 残りのエントリの重みを正規化し直した分布と厳密に一致する。
+ * ここでは索引の重みから棄却確率を求め、全滅判定と試行上限を決める。
+ */
+public class UniqueLootSampler {
+
+    /**
+     * 試行上限まで全て棄却される確率の許容値
+     */
+    private static final double FAILURE_TOLERANCE = 1e-4;
+    private static final int MAX_ATTEMPTS = 32;
+    /**
+     * 索引から確率を計算できないテーブルで使う試行回数
+     */
+    private static final int DEFAULT_ATTEMPTS = 8;
+
+    private final UniqueItemManager uniqueItemManager;
+
+    public UniqueLootSampler(UniqueItemManager uniqueItemManager) {
+        this.uniqueItemManager = uniqueItemManager;
+    }
+
+    /**
+     * 除外付き抽選の計画を立てる
+     *
+     * @param table ルートテーブルの索引（読めなかった場合はnull）
+     * @param world ワールド
+     * @param luck  LootContextに渡す幸運値
+     * @return 抽選計画
+     */
+    public SamplingPlan plan(UniqueLootIndex.TableIndex table, World world, float luck) {
+        if (table == null || !table.exact()) {
+            return new SamplingPlan(false, DEFAULT_ATTEMPTS, Double.NaN);
+        }
+
+        long totalWeight = 0;
+        long excludedWeight = 0;
+        for (UniqueLootIndex.LootEntry entry : table.entries()) {
+            int weight = entry.effectiveWeight(luck);
+            totalWeight += weight;
+            if (entry.isUnique() && uniqueItemManager.isItemAlreadyCaught(world, entry.uniqueId())) {
+                excludedWeight += weight;
+            }
+        }
+
+        if (totalWeight == 0 || excludedWeight >= totalWeight) {
+            return new SamplingPlan(true, 0, 1.0);
+        }
+
+        double rejectProbability = (double) excludedWeight / totalWeight;
+        return new SamplingPlan(false, attemptsFor(rejectProbability), rejectProbability);
+    }
+
+    /**
+     * 棄却確率から、全試行が棄却される確率が許容値以下になる試行回数を求める
+     */
+    static int attemptsFor(double rejectProbability) {
+        if (rejectProbability <= 0) {
+            // 索引上は除外対象が無いのに釣獲済みを引いた = 索引が古い
+            return DEFAULT_ATTEMPTS;
+        }
+        int attempts = (int) Math.ceil(Math.log(FAILURE_TOLERANCE) / Math.log(rejectProbability));
+        return Math.max(1, Math.min(MAX_ATTEMPTS, attempts));
+    }
+
+    /**
+     * 除外付き抽選の計画
+     *
+     * @param exhausted         抽選可能なエントリが残っていないか
+     * @param maxAttempts       引き直しの最大回数
+     * @param rejectProbability 1回の抽選で釣獲済みユニークを引く確率（不明な場合はNaN）
+     */
+    public record SamplingPlan(boolean exhausted, int maxAttempts, double rejectProbability) {
+    }
+}
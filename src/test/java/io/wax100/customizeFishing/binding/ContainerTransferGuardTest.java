@@ -0,0 +1,41 @@
+package io.wax100.customizeFishing.binding;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContainerTransferGuardTest {
+
+    private static final Material[] TYPES = {Material.COD, Material.IRON_INGOT, Material.WHEAT, Material.COBBLESTONE, Material.BONE};
+
+    private static ContainerTransferGuard newGuard(CustomizeFishing plugin) {
+        when(plugin.getName()).thenReturn("CustomizeFishing");
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        return new ContainerTransferGuard(plugin, new BindingCurseManager(plugin));
+    }
+
+    @Test
+    void testNonCursedItemIsNotCloned() {
+        CustomizeFishing plugin = mock(CustomizeFishing.class);
+        ContainerTransferGuard guard = newGuard(plugin);
+
+        for (Material type : TYPES) {
+            ItemStack item = spy(new ItemStack(type, 16));
+            assertFalse(guard.shouldBlock(item));
+            // 非束縛アイテムではメタデータを複製しない
+            verify(item, never()).getItemMeta();
+        }
+        // 設定は生成時（reload）にだけ読み、移動ごとには読まない
+        verify(plugin, times(1)).getConfig();
+    }
+}
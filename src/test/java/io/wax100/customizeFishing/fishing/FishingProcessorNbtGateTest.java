@@ -0,0 +1,113 @@
+package io.wax100.customizeFishing.fishing;
+
+import io.wax100.customizeFishing.CustomizeFishing;
+import io.wax100.customizeFishing.binding.BindingCurseManager;
+import io.wax100.customizeFishing.debug.DebugLogger;
+import io.wax100.customizeFishing.enchant.EnchantLimiter;
+import io.wax100.customizeFishing.item.ItemInspection;
+import io.wax100.customizeFishing.unique.UniqueItemManager;
+import io.wax100.customizeFishing.unique.UniqueLootIndex;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FishingProcessorNbtGateTest {
+
+    private static final Path TABLE_DIR = Path.of("data/customize_fishing/loot_tables/gameplay/fishing");
+    private static final NamespacedKey COMMON = NamespacedKey.fromString("customize_fishing:gameplay/fishing/common");
+    private static final NamespacedKey UNIQUE = NamespacedKey.fromString("customize_fishing:gameplay/fishing/unique");
+
+    @TempDir
+    Path worldFolder;
+
+    private UniqueItemManager uniqueItemManager;
+    private FishingProcessor processor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // ワールドの datapacks にリポジトリのティア別ルートテーブルを置き、実際の索引を読み込ませる
+        Path tables = worldFolder.resolve("datapacks/customize_fishing/" + TABLE_DIR);
+        Files.createDirectories(tables);
+        for (String name : List.of("common", "unique")) {
+            Files.copy(TABLE_DIR.resolve(name + ".json"), tables.resolve(name + ".json"));
+        }
+
+        World world = mock(World.class);
+        when(world.getWorldFolder()).thenReturn(worldFolder.toFile());
+        Server server = mock(Server.class);
+        when(server.getWorlds()).thenReturn(List.of(world));
+
+        CustomizeFishing plugin = mock(CustomizeFishing.class);
+        when(plugin.getName()).thenReturn("CustomizeFishing");
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("FishingProcessorNbtGateTest"));
+        when(plugin.getServer()).thenReturn(server);
+        UniqueLootIndex uniqueLootIndex = new UniqueLootIndex(plugin);
+        when(plugin.getUniqueLootIndex()).thenReturn(uniqueLootIndex);
+        uniqueItemManager = mock(UniqueItemManager.class);
+        when(plugin.getUniqueItemManager()).thenReturn(uniqueItemManager);
+
+        processor = new FishingProcessor(plugin, mock(DebugLogger.class), mock(BindingCurseManager.class),
+                null, null, mock(EnchantLimiter.class));
+    }
+
+    /**
+     * メタデータを持つ釣果アイテム（PersistentDataContainer にマーカーは無い）
+     */
+    private static ItemStack caughtItem(Material type) {
+        PersistentDataContainer container = mock(PersistentDataContainer.class);
+        ItemMeta meta = mock(ItemMeta.class);
+        when(meta.getPersistentDataContainer()).thenReturn(container);
+        ItemStack item = mock(ItemStack.class);
+        when(item.hasItemMeta()).thenReturn(true);
+        when(item.getType()).thenReturn(type);
+        when(item.getItemMeta()).thenReturn(meta);
+        return item;
+    }
+
+    @Test
+    void testNonUniqueCatchSkipsNbt() {
+        ItemStack item = caughtItem(Material.COD);
+        long clones = ItemInspection.getMetaCloneCount();
+
+        assertSame(item, processor.convertNbtToPersistentData(item, COMMON));
+
+        // common テーブルはユニークマーカーを持たないため、メタデータの複製もNBTの読み取りもしない
+        verify(item, never()).getItemMeta();
+        verify(uniqueItemManager, never()).hasUniqueMarker(any());
+        assertEquals(clones, ItemInspection.getMetaCloneCount());
+    }
+
+    @Test
+    void testUniqueTableCatchReachesMarkerCheck() {
+        ItemStack item = caughtItem(Material.EMERALD_BLOCK);
+        ItemMeta meta = item.getItemMeta();
+        when(uniqueItemManager.hasUniqueMarker(meta)).thenReturn(true);
+
+        // unique テーブルはIDを解決できないエントリを含むため、索引では除外せずマーカーを確認する
+        assertSame(item, processor.convertNbtToPersistentData(item, UNIQUE));
+        verify(uniqueItemManager).hasUniqueMarker(meta);
+    }
+}
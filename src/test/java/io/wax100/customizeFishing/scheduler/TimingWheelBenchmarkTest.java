@@ -0,0 +1,167 @@
+package io.wax100.customizeFishing.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelBenchmarkTest {
+
+    private static final int PENDING_TASKS = 5_000;
+    private static final int ROUNDS = 200;
+    // 釣果1回のアニメーション・テキストディスプレイ削除の遅延は最大でも数秒（周回をまたぐ分も含める）
+    private static final int MAX_DELAY = TimingWheel.SLOTS * 2;
+
+    private static TimingWheel newWheel() {
+        return new TimingWheel(Logger.getLogger("TimingWheelBenchmarkTest"));
+    }
+
+    @Test
+    void testRunsAtScheduledTick() {
+        TimingWheel wheel = newWheel();
+        long[] firedAt = new long[MAX_DELAY + 1];
+        long[] now = {0};
+        for (int delay = 1; delay <= MAX_DELAY; delay++) {
+            final int index = delay;
+            wheel.schedule(delay, () -> firedAt[index] = now[0]);
+        }
+        assertEquals(MAX_DELAY, wheel.getPending());
+
+        for (now[0] = 1; now[0] <= MAX_DELAY; now[0]++) {
+            wheel.advance();
+        }
+        for (int delay = 1; delay <= MAX_DELAY; delay++) {
+            assertEquals(delay, firedAt[delay], "delay " + delay);
+        }
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    void testCancelInsideCallback() {
+        TimingWheel wheel = newWheel();
+        int[] fired = new int[3];
+        TimingWheel.Task[] tasks = new TimingWheel.Task[3];
+        // 同じスロットの処理を、先に実行される処理からキャンセルする
+        tasks[0] = wheel.schedule(5, () -> fired[0]++);
+        tasks[1] = wheel.schedule(5, () -> fired[1]++);
+        tasks[2] = wheel.schedule(5, () -> {
+            fired[2]++;
+            assertTrue(tasks[1].cancel());
+            // 実行中のスロットへの再登録は1周後に実行される
+            wheel.schedule(TimingWheel.SLOTS, () -> fired[2]++);
+        });
+
+        for (int i = 0; i < 5; i++) {
+            wheel.advance();
+        }
+        assertEquals(1, fired[0]);
+        assertEquals(0, fired[1]);
+        assertEquals(1, fired[2]);
+        assertFalse(tasks[0].cancel());
+        assertFalse(tasks[1].isPending());
+        assertEquals(1, wheel.getPending());
+
+        for (int i = 0; i < TimingWheel.SLOTS; i++) {
+            wheel.advance();
+        }
+        assertEquals(2, fired[2]);
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    void benchmarkPendingTasks() {
+        Random random = new Random(1);
+        int[] delays = new int[PENDING_TASKS];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = 1 + random.nextInt(MAX_DELAY);
+        }
+        long[] sink = {0};
+        Runnable callback = () -> sink[0]++;
+
+        System.out.println("===== Delayed tasks (" + PENDING_TASKS + " pending) =====");
+
+        // JITのウォームアップ
+        for (int round = 0; round < ROUNDS; round++) {
+            runQueue(delays, callback);
+            runWheel(delays, callback);
+        }
+
+        // 変更前: BukkitScheduler と同じく、タスクごとにオブジェクトを生成して実行tick順の優先度付きキューに積む
+        long queueNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            queueNanos += runQueue(delays, callback);
+        }
+
+        // 変更後: 実行tickのスロットに繋ぐだけ
+        long wheelNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            wheelNanos += runWheel(delays, callback);
+        }
+
+        // キャンセル: 半分を実行前に取り消す
+        long cancelNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            TimingWheel wheel = newWheel();
+            List<TimingWheel.Task> tasks = new ArrayList<>(PENDING_TASKS);
+            for (int delay : delays) {
+                tasks.add(wheel.schedule(delay, callback));
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < tasks.size(); i += 2) {
+                tasks.get(i).cancel();
+            }
+            cancelNanos += System.nanoTime() - start;
+            assertEquals(PENDING_TASKS / 2, wheel.getPending());
+        }
+
+        System.out.printf("priority queue: %.3f ms per %d tasks%n", queueNanos / (double) ROUNDS / 1_000_000, PENDING_TASKS);
+        System.out.printf("timing wheel:   %.3f ms per %d tasks%n", wheelNanos / (double) ROUNDS / 1_000_000, PENDING_TASKS);
+        System.out.printf("cancel:         %.1f ns/task%n", cancelNanos / (double) ROUNDS / (PENDING_TASKS / 2.0));
+        System.out.println("sink: " + sink[0]);
+
+        assertEquals((long) PENDING_TASKS * ROUNDS * 4, sink[0]);
+    }
+
+    /**
+     * 全タスクを登録し、すべて実行されるまでtickを進める
+     */
+    private static long runWheel(int[] delays, Runnable callback) {
+        TimingWheel wheel = newWheel();
+        long start = System.nanoTime();
+        for (int delay : delays) {
+            wheel.schedule(delay, callback);
+        }
+        for (int tick = 0; tick < MAX_DELAY; tick++) {
+            wheel.advance();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(0, wheel.getPending());
+        return elapsed;
+    }
+
+    private static long runQueue(int[] delays, Runnable callback) {
+        PriorityQueue<QueuedTask> queue = new PriorityQueue<>((a, b) -> Long.compare(a.nextRun, b.nextRun));
+        long start = System.nanoTime();
+        for (int delay : delays) {
+            queue.add(new QueuedTask(delay, callback));
+        }
+        for (long tick = 1; tick <= MAX_DELAY; tick++) {
+            while (!queue.isEmpty() && queue.peek().nextRun <= tick) {
+                queue.poll().callback.run();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(queue.isEmpty());
+        return elapsed;
+    }
+
+    private record QueuedTask(long nextRun, Runnable callback) {
+    }
+}
@@ -0,0 +1,87 @@
+package io.wax100.customizeFishing.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactionSketchTest {
+
+    @Test
+    void testQuantileWithinRelativeError() {
+        ReactionSketch sketch = new ReactionSketch();
+        for (int ms = 100; ms < 300; ms++) {
+            sketch.record(ms);
+        }
+        // 対数バケットの相対誤差（GAMMA 1.15 → 約 ±7%）の範囲に収まる
+        assertEquals(200.0, sketch.quantile(0.5), 200.0 * 0.08);
+        assertEquals(280.0, sketch.quantile(0.9), 280.0 * 0.08);
+    }
+
+    @Test
+    void testCountStaysBoundedAfterDecay() {
+        ReactionSketch sketch = new ReactionSketch();
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.record(150 + random.nextInt(400));
+        }
+        // 何件記録しても重み付き件数は DECAY_AT 未満に保たれる
+        assertTrue(sketch.getCount() < ReactionSketch.DECAY_AT);
+        assertTrue(sketch.getCount() >= ReactionSketch.DECAY_AT / 2 - ReactionSketch.BUCKETS);
+    }
+
+    @Test
+    void testHumanDistributionIsPlausible() {
+        ReactionSketch sketch = new ReactionSketch();
+        Random random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            // 人間の反応: 平均 280ms 前後でばらつく（たまに速い反応も混じる）
+            sketch.record(Math.max(60, Math.round(280 + random.nextGaussian() * 80)));
+        }
+        assertFalse(sketch.isImplausible(20, 100, 0.5, 0.1));
+    }
+
+    @Test
+    void testAlwaysJustIsImplausible() {
+        ReactionSketch sketch = new ReactionSketch();
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            // 毎回 JUST（50ms 以内）
+            sketch.record(10 + random.nextInt(40));
+        }
+        assertTrue(sketch.isImplausible(20, 100, 0.5, 0.1));
+    }
+
+    @Test
+    void testFixedDelayMacroIsImplausible() {
+        ReactionSketch sketch = new ReactionSketch();
+        Random random = new Random(4);
+        for (int i = 0; i < 50; i++) {
+            // 人間らしい時間でも、ほぼ一定間隔の操作はばらつきが小さすぎる
+            sketch.record(250 + random.nextInt(5));
+        }
+        assertTrue(sketch.isImplausible(20, 100, 0.5, 0.1));
+    }
+
+    @Test
+    void testNotJudgedBeforeMinSamples() {
+        ReactionSketch sketch = new ReactionSketch();
+        for (int i = 0; i < 19; i++) {
+            sketch.record(20);
+        }
+        assertFalse(sketch.isImplausible(20, 100, 0.5, 0.1));
+        sketch.record(20);
+        assertTrue(sketch.isImplausible(20, 100, 0.5, 0.1));
+    }
+
+    @Test
+    void testBucketBoundaries() {
+        assertEquals(0, ReactionSketch.bucketOf(0));
+        assertEquals(1, ReactionSketch.bucketOf(1));
+        assertEquals(ReactionSketch.BUCKETS - 1, ReactionSketch.bucketOf(Long.MAX_VALUE));
+        assertEquals(-1.0, new ReactionSketch().quantile(0.5));
+    }
+}
@@ -0,0 +1,51 @@
+package io.wax100.customizeFishing.unique;
+
+import com.google.gson.JsonParser;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniqueLootIndexTest {
+
+    private static final Path TABLE_DIR = Path.of("data/customize_fishing/loot_tables/gameplay/fishing");
+
+    private static UniqueLootIndex.TableIndex load(String name) throws IOException {
+        try (Reader reader = Files.newBufferedReader(TABLE_DIR.resolve(name + ".json"), StandardCharsets.UTF_8)) {
+            return UniqueLootIndex.parseTable(JsonParser.parseReader(reader));
+        }
+    }
+
+    @Test
+    void testUniqueTableIndex() throws IOException {
+        UniqueLootIndex.TableIndex unique = load("unique");
+
+        assertTrue(unique.exact(), "unique.json is a single-roll single-pool table");
+        assertEquals("test", unique.entries().get(0).uniqueId());
+        assertFalse(unique.entries().get(1).isUnique(), "emerald_block carries no marker");
+        // cataclysm: のアイテムはバニラのMaterialに解決できないため、常にNBTを確認する
+        assertFalse(unique.uniqueMaterialsResolved());
+        assertTrue(unique.mayCarryUniqueMarker(Material.EMERALD_BLOCK));
+    }
+
+    @Test
+    void testCommonTableNeverCarriesMarker() throws IOException {
+        UniqueLootIndex.TableIndex common = load("common");
+
+        assertTrue(common.uniqueMaterialsResolved());
+        for (UniqueLootIndex.LootEntry entry : common.entries()) {
+            Material material = Material.matchMaterial(entry.name());
+            if (material != null) {
+                assertFalse(common.mayCarryUniqueMarker(material), entry.name());
+            }
+        }
+    }
+}